@@ -2,11 +2,30 @@ package nl.rabobank;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
 import org.springframework.context.annotation.Import;
+import nl.rabobank.mongo.EmbeddedMongoConfiguration;
 import nl.rabobank.mongo.MongoConfiguration;
+import nl.rabobank.mongo.ReactiveMongoConfiguration;
 
-@SpringBootApplication
-@Import(MongoConfiguration.class)
+/**
+ * Mongo is configured by {@link MongoConfiguration} or, with the {@code reactive} profile, {@link ReactiveMongoConfiguration}
+ * only, so the auto-configured clients of the other driver are excluded.
+ */
+@SpringBootApplication(exclude = {
+        MongoAutoConfiguration.class,
+        MongoDataAutoConfiguration.class,
+        MongoRepositoriesAutoConfiguration.class,
+        MongoReactiveAutoConfiguration.class,
+        MongoReactiveDataAutoConfiguration.class,
+        MongoReactiveRepositoriesAutoConfiguration.class
+})
+@Import({MongoConfiguration.class, ReactiveMongoConfiguration.class, EmbeddedMongoConfiguration.class})
 public class RaboAssignmentApplication
 {
     public static void main(final String[] args)
@@ -0,0 +1,234 @@
+package nl.rabobank.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nl.rabobank.mongo.model.AccountEntity;
+import nl.rabobank.mongo.model.GrantEntity;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static nl.rabobank.config.CacheConfiguration.ACCOUNTS_CACHE;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Grantee cache kept consistent across instances by a change stream on the {@code accounts} and {@code grants}
+ * collections: every change evicts the affected grantees and accounts. Account changes carry only the account number,
+ * the grantees of the account are looked up in {@code grants}. Grant deletes are ignored: grants are only deleted by
+ * the TTL monitor once they expire, and results containing time bounded grants are never cached. Nothing is cached
+ * while the change stream is not open, e.g. against a standalone server, and everything is evicted once it fails.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ChangeStreamGranteeCache implements GranteeCache {
+
+    private static final long MAX_AWAIT_TIME_SECONDS = 1;
+
+    private final MongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
+    private final Cache<String, Map<String, Object>> cache;
+    private final Duration reconnectDelay;
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile boolean active;
+    private volatile boolean running;
+    private Thread watcher;
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> V get(String granteeName, String query) {
+        Map<String, Object> results = cache.getIfPresent(granteeName);
+        return results == null ? null : (V) results.get(query);
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public void put(String granteeName, String query, Object result, long version) {
+        if (!active) {
+            return;
+        }
+        // evictions bump the version before invalidating, so a stale result is either rejected here or invalidated
+        cache.asMap().compute(granteeName, (name, results) -> {
+            if (version != this.version.get()) {
+                return results;
+            }
+            Map<String, Object> next = results == null ? new ConcurrentHashMap<>() : results;
+            next.put(query, result);
+            return next;
+        });
+    }
+
+    @Override
+    public void evict(String granteeName) {
+        version.incrementAndGet();
+        cache.invalidate(granteeName);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        watcher = new Thread(this::watch, "grantee-cache-change-stream");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    public synchronized void close() {
+        running = false;
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+    }
+
+    void activate() {
+        version.incrementAndGet();
+        active = true;
+    }
+
+    void deactivate() {
+        active = false;
+        evictAll();
+    }
+
+    void onChange(String collection, OperationType operationType, Document fullDocument) {
+        if (operationType == OperationType.INSERT && isAccounts(collection)
+                || operationType == OperationType.DELETE && isGrants(collection)) {
+            return;
+        }
+        boolean changed = operationType == OperationType.INSERT
+                || operationType == OperationType.UPDATE
+                || operationType == OperationType.REPLACE;
+        if ((!changed || fullDocument == null) && isGrants(collection)) {
+            // drops and invalidations of grants affect every grantee, but no account
+            evictAllGrantees();
+        } else if (!changed || fullDocument == null) {
+            // account deletes carry only the _id, drops and invalidations affect everything
+            evictAll();
+        } else if (isAccounts(collection)) {
+            String accountNumber = fullDocument.getString("accountNumber");
+            evictAccount(accountNumber);
+            // cached grantee results contain the account fields
+            granteesOf(accountNumber).forEach(this::evictGrantee);
+        } else {
+            evictGrantee(fullDocument.getString("granteeName"));
+        }
+    }
+
+    private void watch() {
+        while (running) {
+            boolean opened = false;
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = mongoTemplate.getDb()
+                    .watch(List.of(
+                            Aggregates.match(Filters.in("ns.coll", accountsCollection(), grantsCollection())),
+                            // accounts keep only their account number, grants only their grantee
+                            Aggregates.project(Projections.include("operationType", "ns",
+                                    "fullDocument.accountNumber", "fullDocument.granteeName"))))
+                    .fullDocument(FullDocument.UPDATE_LOOKUP)
+                    .maxAwaitTime(MAX_AWAIT_TIME_SECONDS, TimeUnit.SECONDS)
+                    .cursor()) {
+                activate();
+                opened = true;
+                log.info("Watching {} and {} changes for the grantee cache", accountsCollection(), grantsCollection());
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        onChange(change.getNamespace() == null ? null : change.getNamespace().getCollectionName(),
+                                change.getOperationType(), change.getFullDocument());
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (running) {
+                    log.warn("Grantee cache change stream failed, retrying in {}: {}", reconnectDelay, e.getMessage());
+                }
+            } finally {
+                if (opened) {
+                    deactivate();
+                }
+            }
+            sleep();
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private void evictGrantee(String granteeName) {
+        if (granteeName != null) {
+            evict(granteeName);
+        }
+    }
+
+    private List<String> granteesOf(String accountNumber) {
+        if (accountNumber == null) {
+            return List.of();
+        }
+        return mongoTemplate.findDistinct(query(where("accountNumber").is(accountNumber)), "granteeName",
+                GrantEntity.class, String.class);
+    }
+
+    private void evictAccount(String accountNumber) {
+        org.springframework.cache.Cache accounts = cacheManager.getCache(ACCOUNTS_CACHE);
+        if (accounts != null && accountNumber != null) {
+            accounts.evict(accountNumber);
+        }
+    }
+
+    private void evictAllGrantees() {
+        version.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private void evictAll() {
+        evictAllGrantees();
+        org.springframework.cache.Cache accounts = cacheManager.getCache(ACCOUNTS_CACHE);
+        if (accounts != null) {
+            accounts.clear();
+        }
+    }
+
+    private boolean isAccounts(String collection) {
+        return accountsCollection().equals(collection);
+    }
+
+    private boolean isGrants(String collection) {
+        return grantsCollection().equals(collection);
+    }
+
+    private String accountsCollection() {
+        return mongoTemplate.getCollectionName(AccountEntity.class);
+    }
+
+    private String grantsCollection() {
+        return mongoTemplate.getCollectionName(GrantEntity.class);
+    }
+}
@@ -0,0 +1,25 @@
+package nl.rabobank.cache;
+
+/**
+ * Near cache of grantee query results, e.g. granted accounts by grantee. Results are grouped per grantee so every
+ * change of a grantee's grants or granted accounts evicts all of them at once.
+ */
+public interface GranteeCache {
+
+    /**
+     * @return cached result of the grantee query or {@code null}
+     */
+    <V> V get(String granteeName, String query);
+
+    /**
+     * @return version to pass to {@link #put} for a result loaded afterwards
+     */
+    long version();
+
+    /**
+     * Ignored if anything was evicted since {@code version} was taken, the result might be loaded before the change.
+     */
+    void put(String granteeName, String query, Object result, long version);
+
+    void evict(String granteeName);
+}
@@ -0,0 +1,22 @@
+package nl.rabobank.cache;
+
+public class NoOpGranteeCache implements GranteeCache {
+
+    @Override
+    public <V> V get(String granteeName, String query) {
+        return null;
+    }
+
+    @Override
+    public long version() {
+        return 0;
+    }
+
+    @Override
+    public void put(String granteeName, String query, Object result, long version) {
+    }
+
+    @Override
+    public void evict(String granteeName) {
+    }
+}
@@ -0,0 +1,29 @@
+package nl.rabobank.config;
+
+import nl.rabobank.filter.AccountNumberFilter;
+import nl.rabobank.filter.BloomAccountNumberFilter;
+import nl.rabobank.filter.NoOpAccountNumberFilter;
+import nl.rabobank.mongo.repository.AccountRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
+
+@Profile("!" + REACTIVE_PROFILE)
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(AccountFilterProperties.class)
+public class AccountFilterConfiguration {
+
+    @Bean
+    public AccountNumberFilter accountNumberFilter(AccountFilterProperties properties, AccountRepository accountRepository,
+                                                   MongoTemplate mongoTemplate) {
+        if (!properties.isEnabled()) {
+            return new NoOpAccountNumberFilter();
+        }
+        return new BloomAccountNumberFilter(accountRepository, mongoTemplate, properties.getExpectedInsertions(),
+                properties.getFalsePositiveProbability(), properties.getReconnectDelay(), properties.isSingleInstance());
+    }
+}
@@ -0,0 +1,31 @@
+package nl.rabobank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties("account-filter")
+public class AccountFilterProperties {
+
+    private boolean enabled = true;
+    @Min(1)
+    private long expectedInsertions = 1_000_000;
+    @DecimalMin(value = "0", inclusive = false)
+    @DecimalMax(value = "1", inclusive = false)
+    private double falsePositiveProbability = 0.01;
+    @NotNull
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+    /**
+     * The only instance writing to {@code accounts}: misses are trusted without a Mongo lookup or a change stream, e.g.
+     * on a standalone server. Accounts inserted by anything else are not found until restart.
+     */
+    private boolean singleInstance;
+}
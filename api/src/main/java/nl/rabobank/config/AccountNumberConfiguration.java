@@ -0,0 +1,48 @@
+package nl.rabobank.config;
+
+import nl.rabobank.generator.AccountNumberGenerator;
+import nl.rabobank.generator.MongoSequenceHighWaterMark;
+import nl.rabobank.generator.ReactiveMongoSequenceHighWaterMark;
+import nl.rabobank.generator.SequenceAccountNumberGenerator;
+import nl.rabobank.generator.SequenceHighWaterMark;
+import nl.rabobank.generator.UuidAccountNumberGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import java.time.Clock;
+
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(AccountNumberProperties.class)
+public class AccountNumberConfiguration {
+
+    @Bean
+    public AccountNumberGenerator accountNumberGenerator(AccountNumberProperties properties,
+                                                         ObjectProvider<SequenceHighWaterMark> highWaterMark) {
+        switch (properties.getGenerator()) {
+            case SEQUENCE:
+                return new SequenceAccountNumberGenerator(properties.getNodeId(), Clock.systemUTC(), highWaterMark.getObject());
+            case UUID:
+            default:
+                return new UuidAccountNumberGenerator();
+        }
+    }
+
+    @Bean
+    @Profile("!" + REACTIVE_PROFILE)
+    public SequenceHighWaterMark sequenceHighWaterMark(MongoTemplate mongoTemplate) {
+        return new MongoSequenceHighWaterMark(mongoTemplate);
+    }
+
+    @Bean
+    @Profile(REACTIVE_PROFILE)
+    public SequenceHighWaterMark reactiveSequenceHighWaterMark(ReactiveMongoTemplate reactiveMongoTemplate) {
+        return new ReactiveMongoSequenceHighWaterMark(reactiveMongoTemplate);
+    }
+}
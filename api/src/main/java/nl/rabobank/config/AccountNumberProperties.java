@@ -0,0 +1,34 @@
+package nl.rabobank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Data
+@Validated
+@ConfigurationProperties("account-number")
+public class AccountNumberProperties {
+
+    @NotNull
+    private Strategy generator = Strategy.UUID;
+    /**
+     * Unique per running instance, required by {@link Strategy#SEQUENCE}.
+     */
+    @Min(0)
+    @Max(1023)
+    private Integer nodeId;
+
+    @AssertTrue(message = "account-number.node-id must be set for the sequence generator")
+    public boolean isNodeIdSetForSequence() {
+        return generator != Strategy.SEQUENCE || nodeId != null;
+    }
+
+    public enum Strategy {
+        UUID, SEQUENCE
+    }
+}
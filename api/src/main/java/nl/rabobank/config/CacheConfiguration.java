@@ -0,0 +1,11 @@
+package nl.rabobank.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableCaching
+public class CacheConfiguration {
+
+    public static final String ACCOUNTS_CACHE = "accounts";
+}
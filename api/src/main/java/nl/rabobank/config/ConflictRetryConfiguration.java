@@ -0,0 +1,20 @@
+package nl.rabobank.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.rabobank.retry.ConflictRetryAspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@ConditionalOnProperty(name = "conflict-retry.enabled", havingValue = "true", matchIfMissing = true)
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ConflictRetryProperties.class)
+public class ConflictRetryConfiguration {
+
+    @Bean
+    public ConflictRetryAspect conflictRetryAspect(ConflictRetryProperties properties, MeterRegistry meterRegistry) {
+        return new ConflictRetryAspect(properties.getMaxAttempts(), properties.getInitialBackoff(), properties.getMaxBackoff(),
+                properties.getMultiplier(), meterRegistry);
+    }
+}
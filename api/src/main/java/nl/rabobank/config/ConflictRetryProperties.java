@@ -0,0 +1,29 @@
+package nl.rabobank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties("conflict-retry")
+public class ConflictRetryProperties {
+
+    private boolean enabled = true;
+    /**
+     * Including the first one.
+     */
+    @Min(1)
+    private int maxAttempts = 5;
+    @NotNull
+    private Duration initialBackoff = Duration.ofMillis(10);
+    @NotNull
+    private Duration maxBackoff = Duration.ofMillis(500);
+    @DecimalMin("1")
+    private double multiplier = 2;
+}
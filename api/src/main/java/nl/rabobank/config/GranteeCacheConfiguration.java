@@ -0,0 +1,31 @@
+package nl.rabobank.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import nl.rabobank.cache.ChangeStreamGranteeCache;
+import nl.rabobank.cache.GranteeCache;
+import nl.rabobank.cache.NoOpGranteeCache;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
+
+@Profile("!" + REACTIVE_PROFILE)
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(GranteeCacheProperties.class)
+public class GranteeCacheConfiguration {
+
+    @Bean
+    public GranteeCache granteeCache(GranteeCacheProperties properties, MongoTemplate mongoTemplate, CacheManager cacheManager) {
+        if (!properties.isEnabled()) {
+            return new NoOpGranteeCache();
+        }
+        return new ChangeStreamGranteeCache(mongoTemplate, cacheManager, Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .build(), properties.getReconnectDelay());
+    }
+}
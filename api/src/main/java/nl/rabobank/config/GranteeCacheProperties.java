@@ -0,0 +1,30 @@
+package nl.rabobank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties("grantee-cache")
+public class GranteeCacheProperties {
+
+    /**
+     * Requires a replica set or sharded cluster for change streams.
+     */
+    private boolean enabled = false;
+    @Min(0)
+    private long maximumSize = 10_000;
+    /**
+     * Bounds memory held by idle grantees, entries are kept consistent by the change stream. Only results read from
+     * the primary are cached.
+     */
+    @NotNull
+    private Duration timeToLive = Duration.ofMinutes(5);
+    @NotNull
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+}
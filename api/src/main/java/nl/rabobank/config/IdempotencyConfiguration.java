@@ -0,0 +1,60 @@
+package nl.rabobank.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.HeaderParameter;
+import nl.rabobank.idempotency.IdempotencyFilter;
+import nl.rabobank.mongo.repository.IdempotencyRepository;
+import nl.rabobank.service.IdempotencyService;
+import nl.rabobank.service.IdempotencyServiceImpl;
+import nl.rabobank.service.IdempotentResponseExpiry;
+import org.springdoc.core.customizers.OperationCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.PostMapping;
+
+import static nl.rabobank.idempotency.IdempotencyFilter.IDEMPOTENCY_KEY_HEADER;
+import static nl.rabobank.idempotency.IdempotencyFilter.MAX_KEY_LENGTH;
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
+
+@Profile("!" + REACTIVE_PROFILE)
+@ConditionalOnProperty(name = "idempotency.enabled", havingValue = "true", matchIfMissing = true)
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfiguration {
+
+    @Bean
+    public IdempotencyService idempotencyService(IdempotencyRepository idempotencyRepository, IdempotencyProperties properties) {
+        return new IdempotencyServiceImpl(idempotencyRepository, Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfter(new IdempotentResponseExpiry())
+                .build(), properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper,
+                                                                       IdempotencyProperties properties) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyService,
+                objectMapper, properties.getLockRenewInterval(), properties.getMaxBodySize().toBytes()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public OperationCustomizer idempotencyKeyOperationCustomizer() {
+        return (operation, handlerMethod) -> {
+            if (handlerMethod.hasMethodAnnotation(PostMapping.class)) {
+                operation.addParametersItem(new HeaderParameter()
+                        .name(IDEMPOTENCY_KEY_HEADER)
+                        .description("Repeating the key replays the response of the first successful request")
+                        .schema(new StringSchema().maxLength(MAX_KEY_LENGTH)));
+            }
+            return operation;
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package nl.rabobank.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties("idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+    /**
+     * How long responses are replayed for a key.
+     */
+    @NotNull
+    private Duration ttl = Duration.ofHours(24);
+    /**
+     * Lease of a key reserved by a running request, renewed while the request runs. A key of a request that never
+     * completed, e.g. after an instance crash, can be taken over once its lease expired.
+     */
+    @NotNull
+    private Duration lockTimeout = Duration.ofMinutes(1);
+    /**
+     * How often the lease of a running request is renewed, must be shorter than {@code lockTimeout}.
+     */
+    @NotNull
+    private Duration lockRenewInterval = Duration.ofSeconds(20);
+    @Min(0)
+    private long cacheMaximumSize = 10_000;
+    /**
+     * Largest request or response body kept for a key. Larger requests are rejected with {@code 413}, larger
+     * responses are passed through without being stored, so a retry runs the request again.
+     */
+    @NotNull
+    private DataSize maxBodySize = DataSize.ofMegabytes(1);
+}
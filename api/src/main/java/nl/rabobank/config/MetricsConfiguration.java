@@ -0,0 +1,19 @@
+package nl.rabobank.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfiguration {
+
+    public static final String SERVICE_TIMER = "rabobank.service";
+    public static final String RESULT_SIZE_SUMMARY = "rabobank.service.result.size";
+    public static final String SERVICE_RETRIES_COUNTER = "rabobank.service.retries";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,19 @@
+package nl.rabobank.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
+
+@Profile(REACTIVE_PROFILE)
+@Configuration(proxyBeanMethods = false)
+public class ReactiveWebConfiguration implements WebFluxConfigurer {
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+}
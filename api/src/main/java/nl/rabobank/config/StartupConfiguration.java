@@ -0,0 +1,56 @@
+package nl.rabobank.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.rabobank.mongo.migration.DataMigrations;
+import nl.rabobank.mongo.migration.IndexMigration;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.stereotype.Controller;
+
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
+
+@Configuration(proxyBeanMethods = false)
+public class StartupConfiguration {
+
+    /**
+     * Beans kept eager under {@code spring.main.lazy-initialization}: the Mongo connection pool, JSON mapping, the
+     * startup data migrations and the controllers with the services and repositories they use, so the first request
+     * does not pay for their initialization. Everything else, e.g. API docs, actuator endpoints, the index migration
+     * and the account number high-water mark, is created when first used.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBeansExcludeFilter() {
+        LazyInitializationExcludeFilter byType = LazyInitializationExcludeFilter.forBeanTypes(MongoDatabaseFactory.class,
+                ObjectMapper.class, SmartInitializingSingleton.class);
+        return (beanName, beanDefinition, beanType) -> byType.isExcluded(beanName, beanDefinition, beanType)
+                || beanType != null && AnnotatedElementUtils.hasAnnotation(beanType, Controller.class);
+    }
+
+    /**
+     * Applies pending data migrations once all beans are created, before the web server accepts requests.
+     */
+    @Bean
+    @Profile("!" + REACTIVE_PROFILE)
+    public SmartInitializingSingleton dataMigrationRunner(DataMigrations dataMigrations) {
+        return dataMigrations::migrate;
+    }
+
+    @Bean
+    @Profile("!" + REACTIVE_PROFILE)
+    @ConditionalOnProperty(name = "mongo.indexes.migrate", havingValue = "true")
+    public ApplicationRunner indexMigrationRunner(IndexMigration indexMigration, ConfigurableApplicationContext context) {
+        return args -> {
+            indexMigration.migrate();
+            System.exit(SpringApplication.exit(context));
+        };
+    }
+}
@@ -7,39 +7,66 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import nl.rabobank.account.Account;
+import nl.rabobank.model.AccountSlice;
+import nl.rabobank.model.BatchItemResult;
 import nl.rabobank.model.CreateAccountDto;
 import nl.rabobank.model.ErrorDetails;
 import nl.rabobank.service.AccountService;
-import org.springdoc.api.annotations.ParameterObject;
+import nl.rabobank.util.ETagUtils;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static nl.rabobank.model.ResponseCode.BAD_REQUEST;
 import static nl.rabobank.model.ResponseCode.CREATED;
 import static nl.rabobank.model.ResponseCode.NOT_FOUND;
+import static nl.rabobank.model.ResponseCode.NOT_MODIFIED;
 import static nl.rabobank.model.ResponseCode.OK;
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
 import static org.springframework.util.MimeTypeUtils.APPLICATION_JSON_VALUE;
 
 @Tag(name = "Accounts")
+@Profile("!" + REACTIVE_PROFILE)
+@Validated
 @RestController
 @RequestMapping("api/v1/accounts")
 @RequiredArgsConstructor
 public class AccountController {
 
+    private static final int MAX_SLICE_SIZE = 2000;
+    private static final int MAX_BATCH_SIZE = 5000;
+
+    private static final byte NEW_LINE = '\n';
+
     private final AccountService accountService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Returns Accounts")
     @ApiResponses(value = {
@@ -50,9 +77,46 @@ public class AccountController {
         return accountService.getAccounts(page);
     }
 
+    @Operation(summary = "Returns Accounts ordered by id, starting after the continuation token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = OK, description = "Returns slice of accounts with continuation token of the next slice"),
+            @ApiResponse(responseCode = BAD_REQUEST, description = "Invalid continuation token or size",
+                    content = @Content(
+                            mediaType = APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @GetMapping("slice")
+    public AccountSlice getAccounts(@Parameter(description = "Continuation token of the previous slice") @RequestParam(value = "continuationToken", required = false) String continuationToken,
+                                    @Parameter(description = "Slice size") @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(MAX_SLICE_SIZE) int size) {
+        return accountService.getAccounts(continuationToken, size);
+    }
+
+    @Operation(summary = "Exports all Accounts as newline delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = OK, description = "Streams all accounts, one JSON document per line")
+    })
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAccounts() {
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<Account> accounts = accountService.exportAccounts()) {
+                Iterator<Account> iterator = accounts.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    outputStream.write(NEW_LINE);
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @Operation(summary = "Returns Account by account number")
     @ApiResponses({
             @ApiResponse(responseCode = OK, description = "Account found"),
+            @ApiResponse(responseCode = NOT_MODIFIED, description = "Account did not change since the ETag in If-None-Match"),
             @ApiResponse(responseCode = NOT_FOUND, description = "Account not found",
                     content = @Content(
                             mediaType = APPLICATION_JSON_VALUE,
@@ -61,8 +125,9 @@ public class AccountController {
             )
     })
     @GetMapping("{accountNumber}")
-    public Account getAccount(@Parameter(description = "Account Number") @PathVariable("accountNumber") String accountNumber) {
-        return accountService.getAccount(accountNumber);
+    public ResponseEntity<Account> getAccount(@Parameter(description = "Account Number") @PathVariable("accountNumber") String accountNumber,
+                                              WebRequest request) {
+        return ETagUtils.toResponse(accountService.getVersionedAccount(accountNumber), request);
     }
 
     @Operation(summary = "Creates Account")
@@ -80,4 +145,19 @@ public class AccountController {
     public Account createAccount(@RequestBody @Valid CreateAccountDto accountDto) {
         return accountService.createAccount(accountDto);
     }
+
+    @Operation(summary = "Creates Accounts in batch")
+    @ApiResponses({
+            @ApiResponse(responseCode = OK, description = "Returns created account or errors per item in input order"),
+            @ApiResponse(responseCode = BAD_REQUEST, description = "Batch is empty or too large",
+                    content = @Content(
+                            mediaType = APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @PostMapping("batch")
+    public List<BatchItemResult<Account>> createAccounts(@RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<CreateAccountDto> accountDtos) {
+        return accountService.createAccounts(accountDtos);
+    }
 }
@@ -11,10 +11,15 @@ import lombok.RequiredArgsConstructor;
 import nl.rabobank.account.Account;
 import nl.rabobank.authorizations.Authorization;
 import nl.rabobank.authorizations.PowerOfAttorney;
+import nl.rabobank.model.BatchItemResult;
 import nl.rabobank.model.CreatePowerOfAttorneyDto;
 import nl.rabobank.model.ErrorDetails;
 import nl.rabobank.service.PowerOfAttorneyService;
+import nl.rabobank.util.ETagUtils;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -22,23 +27,32 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import javax.validation.Valid;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import java.util.List;
 
 import static nl.rabobank.model.ResponseCode.BAD_REQUEST;
 import static nl.rabobank.model.ResponseCode.CREATED;
 import static nl.rabobank.model.ResponseCode.NOT_FOUND;
+import static nl.rabobank.model.ResponseCode.NOT_MODIFIED;
 import static nl.rabobank.model.ResponseCode.OK;
 import static nl.rabobank.model.ResponseCode.UNAUTHORIZED;
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
 import static org.springframework.util.MimeTypeUtils.APPLICATION_JSON_VALUE;
 
 @Tag(name = "Power Of Attorneys")
+@Profile("!" + REACTIVE_PROFILE)
+@Validated
 @RestController
 @RequestMapping("api/v1/power-of-attorneys")
 @RequiredArgsConstructor
 public class PowerOfAttorneyController {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final PowerOfAttorneyService powerOfAttorneyService;
 
     @Operation(summary = "Grants access to account")
@@ -69,34 +83,55 @@ public class PowerOfAttorneyController {
         return powerOfAttorneyService.grantAccess(powerOfAttorneyDto);
     }
 
+    @Operation(summary = "Grants access to accounts in batch")
+    @ApiResponses({
+            @ApiResponse(responseCode = OK, description = "Returns granted Power Of Attorney or errors per item in input order"),
+            @ApiResponse(responseCode = BAD_REQUEST, description = "Batch is empty or too large",
+                    content = @Content(
+                            mediaType = APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorDetails.class)
+                    )
+            )
+    })
+    @PostMapping("batch")
+    public List<BatchItemResult<PowerOfAttorney>> grantAccesses(@RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<CreatePowerOfAttorneyDto> powerOfAttorneyDtos) {
+        return powerOfAttorneyService.grantAccesses(powerOfAttorneyDtos);
+    }
+
     @Operation(summary = "Returns granted accounts for the particular grantee")
     @ApiResponses({
-            @ApiResponse(responseCode = OK, description = "Returns list of granted accounts")
+            @ApiResponse(responseCode = OK, description = "Returns list of granted accounts"),
+            @ApiResponse(responseCode = NOT_MODIFIED, description = "Granted accounts did not change since the ETag in If-None-Match")
     })
     @GetMapping("{granteeName}/accounts")
-    public List<Account> getGrantedAccounts(
-            @Parameter(description = "Grantee Name") @PathVariable("granteeName") String granteeName) {
-        return powerOfAttorneyService.getGrantedAccounts(granteeName);
+    public ResponseEntity<List<Account>> getGrantedAccounts(
+            @Parameter(description = "Grantee Name") @PathVariable("granteeName") String granteeName,
+            WebRequest request) {
+        return ETagUtils.toResponse(powerOfAttorneyService.getVersionedGrantedAccounts(granteeName), request);
     }
 
     @Operation(summary = "Returns granted accounts for the particular grantee and authorization")
     @ApiResponses({
-            @ApiResponse(responseCode = OK, description = "Returns list of granted accounts")
+            @ApiResponse(responseCode = OK, description = "Returns list of granted accounts"),
+            @ApiResponse(responseCode = NOT_MODIFIED, description = "Granted accounts did not change since the ETag in If-None-Match")
     })
     @GetMapping("{granteeName}/accounts/{authorization}")
-    public List<Account> getGrantedAccounts(
+    public ResponseEntity<List<Account>> getGrantedAccounts(
             @Parameter(description = "Grantee Name") @PathVariable("granteeName") String granteeName,
-            @Parameter(description = "Authorization Read/Write") @PathVariable("authorization") Authorization authorization) {
-        return powerOfAttorneyService.getGrantedAccounts(granteeName, authorization);
+            @Parameter(description = "Authorization Read/Write") @PathVariable("authorization") Authorization authorization,
+            WebRequest request) {
+        return ETagUtils.toResponse(powerOfAttorneyService.getVersionedGrantedAccounts(granteeName, authorization), request);
     }
 
     @Operation(summary = "Returns Power Of Attorneys for the particular grantee")
     @ApiResponses({
-            @ApiResponse(responseCode = OK, description = "Returns list of granted accounts")
+            @ApiResponse(responseCode = OK, description = "Returns list of granted accounts"),
+            @ApiResponse(responseCode = NOT_MODIFIED, description = "Power Of Attorneys did not change since the ETag in If-None-Match")
     })
     @GetMapping("{granteeName}")
-    public List<PowerOfAttorney> getPowerOfAttorneys(
-            @Parameter(description = "Grantee Name") @PathVariable("granteeName") String granteeName) {
-        return powerOfAttorneyService.getPowerOfAttorneys(granteeName);
+    public ResponseEntity<List<PowerOfAttorney>> getPowerOfAttorneys(
+            @Parameter(description = "Grantee Name") @PathVariable("granteeName") String granteeName,
+            WebRequest request) {
+        return ETagUtils.toResponse(powerOfAttorneyService.getVersionedPowerOfAttorneys(granteeName), request);
     }
 }
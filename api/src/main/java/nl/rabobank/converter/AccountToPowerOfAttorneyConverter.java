@@ -24,6 +24,7 @@ public class AccountToPowerOfAttorneyConverter implements Converter<Pair<CreateP
                 .authorization(powerOfAttorneyDto.getAuthorization())
                 .grantorName(powerOfAttorneyDto.getGrantor())
                 .granteeName(powerOfAttorneyDto.getGrantee())
+                .validUntil(powerOfAttorneyDto.getValidUntil())
                 .build();
     }
 }
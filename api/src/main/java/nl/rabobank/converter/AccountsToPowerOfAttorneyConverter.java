@@ -4,37 +4,42 @@ import lombok.RequiredArgsConstructor;
 import nl.rabobank.account.Account;
 import nl.rabobank.authorizations.PowerOfAttorney;
 import nl.rabobank.mongo.model.AccountEntity;
+import nl.rabobank.mongo.model.GrantEntity;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Component
-public class AccountsToPowerOfAttorneyConverter implements Converter<Pair<List<AccountEntity>, String>, List<PowerOfAttorney>> {
+public class AccountsToPowerOfAttorneyConverter implements Converter<Pair<List<AccountEntity>, List<GrantEntity>>, List<PowerOfAttorney>> {
 
     private final Converter<AccountEntity, Account> toAccountConverter;
 
     @Override
-    public List<PowerOfAttorney> convert(final Pair<List<AccountEntity>, String> pair) {
+    public List<PowerOfAttorney> convert(final Pair<List<AccountEntity>, List<GrantEntity>> pair) {
+        Map<String, List<GrantEntity>> grantsByAccountNumber = pair.getSecond()
+                .stream()
+                .collect(Collectors.groupingBy(GrantEntity::getAccountNumber));
         return pair.getFirst()
                 .stream()
-                .flatMap(account -> toPowerOfAttorneys(account, pair.getSecond()))
+                .flatMap(account -> toPowerOfAttorneys(account, grantsByAccountNumber.getOrDefault(account.getAccountNumber(), List.of())))
                 .collect(Collectors.toList());
     }
 
-    private Stream<PowerOfAttorney> toPowerOfAttorneys(AccountEntity account, String granteeName) {
-        return account.getPowerOfAttorneys()
-                .stream()
-                .filter(grantee -> grantee.getGranteeName().equals(granteeName))
-                .map(grantee -> PowerOfAttorney.builder()
+    private Stream<PowerOfAttorney> toPowerOfAttorneys(AccountEntity account, List<GrantEntity> grants) {
+        Account grantedAccount = toAccountConverter.convert(account);
+        return grants.stream()
+                .map(grant -> PowerOfAttorney.builder()
                         .grantorName(account.getAccountHolderName())
-                        .granteeName(grantee.getGranteeName())
-                        .account(toAccountConverter.convert(account))
-                        .authorization(grantee.getAuthorization())
+                        .granteeName(grant.getGranteeName())
+                        .account(grantedAccount)
+                        .authorization(grant.getAuthorization())
+                        .validUntil(grant.isPermanent() ? null : grant.getValidUntil())
                         .build());
     }
 }
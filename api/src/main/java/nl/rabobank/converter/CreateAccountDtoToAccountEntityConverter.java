@@ -2,6 +2,7 @@ package nl.rabobank.converter;
 
 import nl.rabobank.model.CreateAccountDto;
 import nl.rabobank.mongo.model.AccountEntity;
+import nl.rabobank.util.MoneyUtils;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
 
@@ -12,7 +13,7 @@ public class CreateAccountDtoToAccountEntityConverter implements Converter<Creat
     public AccountEntity convert(CreateAccountDto account) {
         return AccountEntity.builder()
                 .accountHolderName(account.getAccountHolderName())
-                .balance(account.getInitialBalance())
+                .balance(MoneyUtils.toMinorUnits(account.getInitialBalance()))
                 .type(account.getType())
                 .build();
     }
@@ -0,0 +1,20 @@
+package nl.rabobank.converter;
+
+import nl.rabobank.model.CreatePowerOfAttorneyDto;
+import nl.rabobank.mongo.model.GrantEntity;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CreatePowerOfAttorneyDtoToGrantEntityConverter implements Converter<CreatePowerOfAttorneyDto, GrantEntity> {
+
+    @Override
+    public GrantEntity convert(CreatePowerOfAttorneyDto createPowerOfAttorneyDto) {
+        return GrantEntity.builder()
+                .granteeName(createPowerOfAttorneyDto.getGrantee())
+                .authorization(createPowerOfAttorneyDto.getAuthorization())
+                .accountNumber(createPowerOfAttorneyDto.getAccountNumber())
+                .validUntil(createPowerOfAttorneyDto.getValidUntil())
+                .build();
+    }
+}
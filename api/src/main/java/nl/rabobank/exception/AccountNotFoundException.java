@@ -1,7 +1,10 @@
 package nl.rabobank.exception;
 
+/**
+ * Stackless: thrown on the hot 404 path for unknown account numbers and always mapped to a response.
+ */
 public class AccountNotFoundException extends RuntimeException {
     public AccountNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
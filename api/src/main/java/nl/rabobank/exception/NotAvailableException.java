@@ -0,0 +1,11 @@
+package nl.rabobank.exception;
+
+/**
+ * Routes of the blocking API the {@code reactive} profile does not implement, rejected instead of being matched by
+ * another route.
+ */
+public class NotAvailableException extends RuntimeException {
+    public NotAvailableException() {
+        super("Not available with the reactive profile");
+    }
+}
@@ -0,0 +1,14 @@
+package nl.rabobank.filter;
+
+/**
+ * Cheap membership check of existing account numbers, used to reject unknown accounts without loading them.
+ */
+public interface AccountNumberFilter {
+
+    /**
+     * @return {@code false} only if the account number definitely does not exist
+     */
+    boolean mightExist(String accountNumber);
+
+    void add(String accountNumber);
+}
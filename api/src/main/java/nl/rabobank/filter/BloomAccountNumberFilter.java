@@ -0,0 +1,190 @@
+package nl.rabobank.filter;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nl.rabobank.mongo.model.AccountEntity;
+import nl.rabobank.mongo.repository.AccountRepository;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of all account numbers, built in the background at startup and rebuilt when the change stream on the
+ * {@code accounts} inserts (re)opens, so inserts missed while it was closed are picked up. Accounts created by other
+ * instances are added from that change stream, which lags behind their inserts, so misses are confirmed with a Mongo
+ * lookup and only the lookups of accounts found in the filter are saved. A single instance, the only writer of
+ * {@code accounts}, adds its own inserts, so it trusts misses and never opens a change stream. Until the first build
+ * completes every account number might exist.
+ * <p>
+ * The filter is sized when it is built and keeps that size until the change stream reopens, or the single instance
+ * restarts; beyond its expected insertions the false positive probability grows.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BloomAccountNumberFilter implements AccountNumberFilter {
+
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+    private static final long MAX_AWAIT_TIME_SECONDS = 1;
+
+    private final AccountRepository accountRepository;
+    private final MongoTemplate mongoTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Duration reconnectDelay;
+    private final boolean singleInstance;
+
+    private volatile BloomFilter<String> filter;
+    private volatile BloomFilter<String> rebuilding;
+    private volatile boolean running;
+    private Thread watcher;
+
+    @Override
+    public boolean mightExist(String accountNumber) {
+        BloomFilter<String> current = filter;
+        if (current == null || current.mightContain(accountNumber)) {
+            return true;
+        }
+        if (singleInstance) {
+            return false;
+        }
+        if (accountRepository.existsAccountEntityByAccountNumber(accountNumber)) {
+            add(accountNumber);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Also adds to a filter being rebuilt, so accounts saved after the rebuild started streaming are not lost.
+     */
+    @Override
+    public void add(String accountNumber) {
+        BloomFilter<String> next = rebuilding;
+        BloomFilter<String> current = filter;
+        if (next != null) {
+            next.put(accountNumber);
+        }
+        if (current != null && current != next) {
+            current.put(accountNumber);
+        }
+    }
+
+    private synchronized void rebuild() {
+        long count = accountRepository.count();
+        BloomFilter<String> next = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+                Math.max(expectedInsertions, count * 2), falsePositiveProbability);
+        rebuilding = next;
+        try (Stream<String> accountNumbers = accountRepository.streamAccountNumbers(REBUILD_BATCH_SIZE)) {
+            accountNumbers.forEach(next::put);
+            filter = next;
+        } finally {
+            rebuilding = null;
+        }
+        log.info("Rebuilt account number filter with ~{} accounts", next.approximateElementCount());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        watcher = new Thread(this::watch, "account-filter-change-stream");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    public synchronized void close() {
+        running = false;
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+    }
+
+    /**
+     * Rebuilds after the change stream is (re)opened, so accounts inserted before it opened or during a gap are added.
+     */
+    void activate() {
+        rebuild();
+    }
+
+    private void watch() {
+        while (running) {
+            if (!singleInstance) {
+                watchInserts();
+            }
+            buildIfMissing();
+            if (singleInstance && filter != null) {
+                return;
+            }
+            sleep();
+        }
+    }
+
+    private void watchInserts() {
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = mongoTemplate.getCollection(accountsCollection())
+                .watch(List.of(
+                        Aggregates.match(Filters.eq("operationType", OperationType.INSERT.getValue())),
+                        Aggregates.project(Projections.include("operationType", "fullDocument.accountNumber"))))
+                .maxAwaitTime(MAX_AWAIT_TIME_SECONDS, TimeUnit.SECONDS)
+                .cursor()) {
+            activate();
+            log.info("Watching {} inserts for the account number filter", accountsCollection());
+            while (running) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change != null && change.getFullDocument() != null) {
+                    onInsert(change.getFullDocument().getString("accountNumber"));
+                }
+            }
+        } catch (RuntimeException e) {
+            if (running) {
+                log.warn("Account number filter change stream failed, retrying in {}: {}", reconnectDelay, e.getMessage());
+            }
+        }
+    }
+
+    void onInsert(String accountNumber) {
+        if (accountNumber != null) {
+            add(accountNumber);
+        }
+    }
+
+    private void buildIfMissing() {
+        if (!running || filter != null) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Account number filter build failed, retrying in {}: {}", reconnectDelay, e.getMessage());
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private String accountsCollection() {
+        return mongoTemplate.getCollectionName(AccountEntity.class);
+    }
+}
@@ -0,0 +1,13 @@
+package nl.rabobank.filter;
+
+public class NoOpAccountNumberFilter implements AccountNumberFilter {
+
+    @Override
+    public boolean mightExist(String accountNumber) {
+        return true;
+    }
+
+    @Override
+    public void add(String accountNumber) {
+    }
+}
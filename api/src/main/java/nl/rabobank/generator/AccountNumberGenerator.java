@@ -0,0 +1,6 @@
+package nl.rabobank.generator;
+
+public interface AccountNumberGenerator {
+
+    String generate();
+}
@@ -0,0 +1,33 @@
+package nl.rabobank.generator;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+@RequiredArgsConstructor
+public class MongoSequenceHighWaterMark implements SequenceHighWaterMark {
+
+    static final String COLLECTION = "account_number_nodes";
+    static final String RESERVED_UNTIL = "reservedUntil";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long get(long nodeId) {
+        Document node = collection().find(Filters.eq("_id", nodeId)).first();
+        return node == null ? 0 : node.getLong(RESERVED_UNTIL);
+    }
+
+    @Override
+    public void reserve(long nodeId, long timestamp) {
+        collection().updateOne(Filters.eq("_id", nodeId), Updates.max(RESERVED_UNTIL, timestamp), new UpdateOptions().upsert(true));
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+}
@@ -0,0 +1,38 @@
+package nl.rabobank.generator;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+import static nl.rabobank.generator.MongoSequenceHighWaterMark.COLLECTION;
+import static nl.rabobank.generator.MongoSequenceHighWaterMark.RESERVED_UNTIL;
+
+/**
+ * {@link MongoSequenceHighWaterMark} on the reactive driver. Blocks until Mongo answers, so account numbers must be
+ * generated off the event loop, e.g. on {@link reactor.core.scheduler.Schedulers#boundedElastic()}.
+ */
+@RequiredArgsConstructor
+public class ReactiveMongoSequenceHighWaterMark implements SequenceHighWaterMark {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public long get(long nodeId) {
+        Document node = mongoTemplate.getCollection(COLLECTION)
+                .flatMap(collection -> Mono.from(collection.find(Filters.eq("_id", nodeId)).first()))
+                .block();
+        return node == null ? 0 : node.getLong(RESERVED_UNTIL);
+    }
+
+    @Override
+    public void reserve(long nodeId, long timestamp) {
+        mongoTemplate.getCollection(COLLECTION)
+                .flatMap(collection -> Mono.from(collection.updateOne(Filters.eq("_id", nodeId),
+                        Updates.max(RESERVED_UNTIL, timestamp), new UpdateOptions().upsert(true))))
+                .block();
+    }
+}
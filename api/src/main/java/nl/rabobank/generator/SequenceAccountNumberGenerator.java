@@ -0,0 +1,77 @@
+package nl.rabobank.generator;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 41 bits of milliseconds since {@link #EPOCH}, 10 bits of node id and 12 bits of sequence, as fixed width decimal.
+ * An exhausted sequence borrows the next millisecond instead of waiting, so numbers stay unique without locking.
+ * Timestamps are reserved {@link #RESERVE_AHEAD_MILLIS} ahead in the {@link SequenceHighWaterMark}; after a restart
+ * numbers continue after the reserved timestamp while the clock is behind it.
+ */
+public class SequenceAccountNumberGenerator implements AccountNumberGenerator {
+
+    static final long EPOCH = Instant.parse("2021-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    static final long RESERVE_AHEAD_MILLIS = 10_000;
+    private static final int LENGTH = String.valueOf(Long.MAX_VALUE).length();
+
+    private final long nodeId;
+    private final Clock clock;
+    private final SequenceHighWaterMark highWaterMark;
+    private final AtomicLong lastTimestampAndSequence;
+    // not synchronized, a virtual thread writing to Mongo inside a monitor pins its carrier thread
+    private final ReentrantLock reserveLock = new ReentrantLock();
+    private volatile long reservedUntil;
+
+    public SequenceAccountNumberGenerator(long nodeId, Clock clock, SequenceHighWaterMark highWaterMark) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+        this.highWaterMark = highWaterMark;
+        this.reservedUntil = Math.max(highWaterMark.get(nodeId) - EPOCH, 0);
+        // the sequence of the reserved millisecond is taken, the next number borrows the millisecond after it
+        this.lastTimestampAndSequence = new AtomicLong(reservedUntil == 0 ? 0 : reservedUntil << SEQUENCE_BITS | SEQUENCE_MASK);
+    }
+
+    @Override
+    public String generate() {
+        String digits = Long.toString(nextId());
+        return "0".repeat(LENGTH - digits.length()) + digits;
+    }
+
+    long nextId() {
+        long now = clock.millis() - EPOCH;
+        while (true) {
+            long current = lastTimestampAndSequence.get();
+            long next = now > current >>> SEQUENCE_BITS ? now << SEQUENCE_BITS : current + 1;
+            if (lastTimestampAndSequence.compareAndSet(current, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                if (timestamp > reservedUntil) {
+                    reserve(timestamp);
+                }
+                return timestamp << (NODE_BITS + SEQUENCE_BITS) | nodeId << SEQUENCE_BITS | next & SEQUENCE_MASK;
+            }
+        }
+    }
+
+    private void reserve(long timestamp) {
+        reserveLock.lock();
+        try {
+            if (timestamp > reservedUntil) {
+                long until = timestamp + RESERVE_AHEAD_MILLIS;
+                highWaterMark.reserve(nodeId, until + EPOCH);
+                reservedUntil = until;
+            }
+        } finally {
+            reserveLock.unlock();
+        }
+    }
+}
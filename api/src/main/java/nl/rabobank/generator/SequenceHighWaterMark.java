@@ -0,0 +1,18 @@
+package nl.rabobank.generator;
+
+/**
+ * Highest timestamp a node may have issued account numbers for, survives restarts so a clock set back does not reissue
+ * them.
+ */
+public interface SequenceHighWaterMark {
+
+    /**
+     * @return milliseconds since the Unix epoch, {@code 0} if the node never reserved any
+     */
+    long get(long nodeId);
+
+    /**
+     * Called before the node issues account numbers after the previously reserved timestamp, never lowers it.
+     */
+    void reserve(long nodeId, long timestamp);
+}
@@ -0,0 +1,11 @@
+package nl.rabobank.generator;
+
+import nl.rabobank.util.AccountUtils;
+
+public class UuidAccountNumberGenerator implements AccountNumberGenerator {
+
+    @Override
+    public String generate() {
+        return AccountUtils.generateAccountNumber();
+    }
+}
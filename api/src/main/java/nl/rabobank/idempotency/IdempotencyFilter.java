@@ -0,0 +1,330 @@
+package nl.rabobank.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nl.rabobank.model.ErrorDetails;
+import nl.rabobank.model.IdempotentResponse;
+import nl.rabobank.service.IdempotencyService;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the stored response of a successful POST for requests repeating its {@code Idempotency-Key}, without
+ * invoking the controller again. Keys are scoped by request path; a key reused with a different body is rejected.
+ * The reservation of the key is renewed while the controller runs. Bodies are kept in memory up to
+ * {@code maxBodySize}: larger requests are rejected, larger responses are not stored.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    private final Duration lockRenewInterval;
+    private final long maxBodySize;
+    private final ScheduledExecutorService renewals = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idempotency-lock-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, IDEMPOTENCY_KEY_HEADER + " must have 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = request.getContentLengthLong() > maxBodySize ? null
+                : StreamUtils.copyToByteArray(ByteStreams.limit(request.getInputStream(), maxBodySize + 1));
+        if (body == null || body.length > maxBodySize) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Requests with " + IDEMPOTENCY_KEY_HEADER + " must not exceed " + maxBodySize + " bytes");
+            return;
+        }
+        String key = request.getRequestURI() + " " + idempotencyKey;
+        String fingerprint = Hashing.sha256().hashBytes(body).toString();
+        String owner = UUID.randomUUID().toString();
+
+        Optional<IdempotentResponse> previous = idempotencyService.reserve(key, owner, fingerprint);
+        if (previous.isPresent()) {
+            replay(previous.get(), fingerprint, response);
+            return;
+        }
+
+        BodyCopyingResponse responseWrapper = new BodyCopyingResponse(response, maxBodySize);
+        ScheduledFuture<?> renewal = renewals.scheduleWithFixedDelay(() -> renew(key, owner),
+                lockRenewInterval.toMillis(), lockRenewInterval.toMillis(), TimeUnit.MILLISECONDS);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), responseWrapper);
+            if (HttpStatus.Series.resolve(responseWrapper.getStatus()) == HttpStatus.Series.SUCCESSFUL) {
+                byte[] responseBody = responseWrapper.getBody();
+                if (responseBody == null) {
+                    log.warn("Idempotency key response exceeds {} bytes and is not stored: {}", maxBodySize, key);
+                } else {
+                    completed = complete(key, owner, IdempotentResponse.builder()
+                            .fingerprint(fingerprint)
+                            .status(responseWrapper.getStatus())
+                            .contentType(responseWrapper.getContentType())
+                            .body(responseBody)
+                            .build());
+                }
+            }
+        } finally {
+            renewal.cancel(false);
+            if (!completed) {
+                release(key, owner);
+            }
+            responseWrapper.flushBuffer();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        renewals.shutdownNow();
+    }
+
+    private void renew(String key, String owner) {
+        try {
+            if (!idempotencyService.renew(key, owner)) {
+                log.warn("Idempotency key reservation expired while the request was running: {}", key);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Idempotency key reservation renewal failed: {}", key, e);
+        }
+    }
+
+    /**
+     * The handler already ran, so a failure to store its response must not replace the response with an error.
+     */
+    private boolean complete(String key, String owner, IdempotentResponse idempotentResponse) {
+        try {
+            idempotencyService.complete(key, owner, idempotentResponse);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Idempotency key response could not be stored: {}", key, e);
+            return false;
+        }
+    }
+
+    private void release(String key, String owner) {
+        try {
+            idempotencyService.release(key, owner);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency key reservation could not be released, it expires after the lock timeout: {}", key, e);
+        }
+    }
+
+    private void replay(IdempotentResponse previous, String fingerprint, HttpServletResponse response) throws IOException {
+        if (!previous.getFingerprint().equals(fingerprint)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+        } else if (!previous.isCompleted()) {
+            writeError(response, HttpStatus.CONFLICT, "A request with the same " + IDEMPOTENCY_KEY_HEADER + " is in progress");
+        } else {
+            response.setStatus(previous.getStatus());
+            response.setContentType(previous.getContentType());
+            response.setHeader(IDEMPOTENT_REPLAYED_HEADER, Boolean.TRUE.toString());
+            response.setContentLength(previous.getBody().length);
+            response.getOutputStream().write(previous.getBody());
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorDetails(message));
+    }
+
+    /**
+     * Writes the body through to the response and keeps a copy of it up to {@code limit} bytes.
+     */
+    private static class BodyCopyingResponse extends HttpServletResponseWrapper {
+
+        private final long limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        BodyCopyingResponse(HttpServletResponse response, long limit) {
+            super(response);
+            this.limit = limit;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream target = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return target.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        target.setWriteListener(writeListener);
+                    }
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        target.write(b);
+                        if (fits(1)) {
+                            copy.write(b);
+                        }
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        target.write(b, off, len);
+                        if (fits(len)) {
+                            copy.write(b, off, len);
+                        }
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        target.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        target.close();
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            super.flushBuffer();
+        }
+
+        /**
+         * @return the body written so far, {@code null} if it exceeded the limit
+         */
+        byte[] getBody() {
+            if (writer != null) {
+                writer.flush();
+            }
+            return copy == null ? null : copy.toByteArray();
+        }
+
+        private boolean fits(int length) {
+            if (copy != null && copy.size() + length > limit) {
+                copy = null;
+            }
+            return copy != null;
+        }
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // the body is in memory, so it is all available right away
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return inputStream.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
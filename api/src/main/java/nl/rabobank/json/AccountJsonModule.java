@@ -0,0 +1,24 @@
+package nl.rabobank.json;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import nl.rabobank.account.Account;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the decimal {@code balance} wire format of {@link Account} while the domain holds minor units.
+ */
+@Component
+public class AccountJsonModule extends SimpleModule {
+
+    public AccountJsonModule() {
+        super(AccountJsonModule.class.getSimpleName());
+        setMixInAnnotation(Account.class, AccountMixin.class);
+    }
+
+    interface AccountMixin {
+
+        @JsonSerialize(using = BalanceSerializer.class)
+        long getBalance();
+    }
+}
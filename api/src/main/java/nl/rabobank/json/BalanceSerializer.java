@@ -0,0 +1,23 @@
+package nl.rabobank.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import nl.rabobank.util.MoneyUtils;
+
+import java.io.IOException;
+
+/**
+ * Writes a minor units balance as a decimal amount, e.g. {@code 12345} as {@code 123.45}.
+ */
+public class BalanceSerializer extends StdSerializer<Long> {
+
+    public BalanceSerializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public void serialize(Long balance, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeNumber(MoneyUtils.toMajorUnits(balance));
+    }
+}
@@ -0,0 +1,12 @@
+package nl.rabobank.model;
+
+import lombok.Value;
+import nl.rabobank.account.Account;
+
+import java.util.List;
+
+@Value
+public class AccountSlice {
+    List<Account> content;
+    String continuationToken;
+}
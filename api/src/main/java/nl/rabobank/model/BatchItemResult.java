@@ -0,0 +1,20 @@
+package nl.rabobank.model;
+
+import lombok.Value;
+
+import java.util.Map;
+
+@Value
+public class BatchItemResult<T> {
+    int index;
+    T result;
+    Map<String, String> errors;
+
+    public static <T> BatchItemResult<T> success(int index, T result) {
+        return new BatchItemResult<>(index, result, null);
+    }
+
+    public static <T> BatchItemResult<T> failure(int index, Map<String, String> errors) {
+        return new BatchItemResult<>(index, null, errors);
+    }
+}
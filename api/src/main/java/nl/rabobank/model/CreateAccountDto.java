@@ -6,9 +6,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import nl.rabobank.account.AccountType;
 
-import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.NotNull;
-import javax.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+
+import static nl.rabobank.util.MoneyUtils.MINOR_UNITS_SCALE;
 
 @Data
 @NoArgsConstructor
@@ -21,7 +25,8 @@ public class CreateAccountDto {
     @Schema(example = "100")
     @NotNull
     @PositiveOrZero
-    private Double initialBalance;
+    @Digits(integer = 15, fraction = MINOR_UNITS_SCALE)
+    private BigDecimal initialBalance;
     @NotNull
     private AccountType type;
 }
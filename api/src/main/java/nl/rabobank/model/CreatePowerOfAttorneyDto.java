@@ -6,8 +6,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import nl.rabobank.authorizations.Authorization;
 
-import javax.validation.constraints.NotBlank;
-import javax.validation.constraints.NotNull;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
 
 @Data
 @NoArgsConstructor
@@ -25,4 +27,7 @@ public class CreatePowerOfAttorneyDto {
     private String grantee;
     @NotNull
     private Authorization authorization;
+    @Schema(description = "Grant expires at this moment, never if omitted", example = "2030-01-01T00:00:00Z")
+    @Future
+    private Instant validUntil;
 }
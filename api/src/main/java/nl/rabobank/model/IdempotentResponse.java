@@ -0,0 +1,26 @@
+package nl.rabobank.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@Builder(toBuilder = true)
+public class IdempotentResponse {
+    String fingerprint;
+    /**
+     * {@code 0} while the first request with the key is in progress.
+     */
+    int status;
+    String contentType;
+    byte[] body;
+    /**
+     * When the stored response expires, not set by the filter: the service assigns it when storing the response.
+     */
+    Instant expiresAt;
+
+    public boolean isCompleted() {
+        return status != 0;
+    }
+}
@@ -9,7 +9,9 @@ public class ResponseCode {
 
     public static final String OK = "200";
     public static final String CREATED = "201";
+    public static final String NOT_MODIFIED = "304";
     public static final String BAD_REQUEST = "400";
     public static final String UNAUTHORIZED = "401";
     public static final String NOT_FOUND = "404";
+    public static final String NOT_IMPLEMENTED = "501";
 }
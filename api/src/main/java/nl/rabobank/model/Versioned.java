@@ -0,0 +1,40 @@
+package nl.rabobank.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Result with the version it was loaded at. The value is converted on first access, so results of conditional
+ * requests answered with 304 are never converted.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class Versioned<T> {
+
+    @Getter
+    private final String version;
+    private final Supplier<T> value;
+
+    public static <T> Versioned<T> of(String version, Supplier<T> value) {
+        return new Versioned<>(version, SingletonSupplier.of(value));
+    }
+
+    public T getValue() {
+        return value.get();
+    }
+
+    /**
+     * @return the same result running {@code action} on every access of the value
+     */
+    public Versioned<T> peek(Consumer<T> action) {
+        return new Versioned<>(version, () -> {
+            T result = value.get();
+            action.accept(result);
+            return result;
+        });
+    }
+}
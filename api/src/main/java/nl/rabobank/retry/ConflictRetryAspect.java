@@ -0,0 +1,84 @@
+package nl.rabobank.retry;
+
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static nl.rabobank.config.MetricsConfiguration.SERVICE_RETRIES_COUNTER;
+
+/**
+ * Implements {@link RetryOnConflict}. Ordered before the transaction interceptor, so every attempt runs in a new
+ * transaction.
+ */
+@Slf4j
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class ConflictRetryAspect {
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final double multiplier;
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(nl.rabobank.retry.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // the outer transaction is aborted already, only its owner can retry
+            return joinPoint.proceed();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !isConflict(e)) {
+                    throw e;
+                }
+                Duration backoff = backoff(attempt);
+                log.debug("{} attempt {} conflicted, retrying in {}: {}", joinPoint.getSignature().toShortString(), attempt, backoff, e.getMessage());
+                meterRegistry.counter(SERVICE_RETRIES_COUNTER, "method", joinPoint.getSignature().getName()).increment();
+                try {
+                    TimeUnit.NANOSECONDS.sleep(backoff.toNanos());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Full jitter: uniformly random up to the exponential backoff of the attempt, so conflicting callers spread out
+     * instead of colliding again.
+     */
+    Duration backoff(int attempt) {
+        double exponential = initialBackoff.toNanos() * Math.pow(multiplier, attempt - 1);
+        long cap = (long) Math.min(exponential, maxBackoff.toNanos());
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    static boolean isConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConcurrencyFailureException) {
+                return true;
+            }
+            if (cause instanceof MongoException && ((MongoException) cause).hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
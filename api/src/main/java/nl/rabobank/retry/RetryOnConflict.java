@@ -0,0 +1,16 @@
+package nl.rabobank.retry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Retries the method with exponential backoff and full jitter when it fails on a concurrent write to the same
+ * document: transient Mongo transaction errors, e.g. {@code WriteConflict}, and other concurrency failures. The retry
+ * wraps the method's own transaction and is skipped when called within an outer one.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+}
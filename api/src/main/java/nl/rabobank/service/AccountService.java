@@ -1,16 +1,28 @@
 package nl.rabobank.service;
 
 import nl.rabobank.account.Account;
+import nl.rabobank.model.AccountSlice;
+import nl.rabobank.model.BatchItemResult;
 import nl.rabobank.model.CreateAccountDto;
+import nl.rabobank.model.Versioned;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AccountService {
 
     List<Account> getAccounts(Pageable page);
 
+    AccountSlice getAccounts(String continuationToken, int size);
+
+    Stream<Account> exportAccounts();
+
     Account getAccount(String accountNumber);
 
+    Versioned<Account> getVersionedAccount(String accountNumber);
+
     Account createAccount(CreateAccountDto accountDto);
+
+    List<BatchItemResult<Account>> createAccounts(List<CreateAccountDto> accountDtos);
 }
@@ -1,61 +1,208 @@
 package nl.rabobank.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nl.rabobank.account.Account;
 import nl.rabobank.exception.AccountNotFoundException;
+import nl.rabobank.filter.AccountNumberFilter;
+import nl.rabobank.generator.AccountNumberGenerator;
+import nl.rabobank.model.AccountSlice;
+import nl.rabobank.model.BatchItemResult;
 import nl.rabobank.model.CreateAccountDto;
+import nl.rabobank.model.Versioned;
 import nl.rabobank.mongo.model.AccountEntity;
 import nl.rabobank.mongo.repository.AccountRepository;
-import nl.rabobank.util.AccountUtils;
+import nl.rabobank.util.ConstraintViolationUtils;
+import nl.rabobank.util.MetricsUtils;
+import nl.rabobank.util.ContinuationTokenUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static nl.rabobank.config.CacheConfiguration.ACCOUNTS_CACHE;
+import static nl.rabobank.config.MetricsConfiguration.SERVICE_TIMER;
+import static nl.rabobank.mongo.ReadOnlyRoutingMongoDatabaseFactory.SECONDARY_READS;
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
 
 @Slf4j
 @RequiredArgsConstructor
+@Profile("!" + REACTIVE_PROFILE)
 @Service
 public class AccountServiceImpl implements AccountService {
 
+    private static final int EXPORT_BATCH_SIZE = 1000;
+
     private final AccountRepository accountRepository;
     private final Converter<AccountEntity, Account> toAccountConverter;
     private final Converter<CreateAccountDto, AccountEntity> toAccountEntityConverter;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final AccountNumberFilter accountNumberFilter;
+    private final Validator validator;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    private final DistributionSummary accountsResultSize = MetricsUtils.resultSizeSummary(meterRegistry, "getAccounts");
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    private final DistributionSummary accountsSliceResultSize = MetricsUtils.resultSizeSummary(meterRegistry, "getAccountsSlice");
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = SECONDARY_READS)
+    @Timed(value = SERVICE_TIMER, histogram = true)
     @Override
     public List<Account> getAccounts(Pageable page) {
         log.debug("Fetching accounts. {}", page);
-        return accountRepository.findAll(page)
-                .map(toAccountConverter::convert)
-                .getContent();
+        List<Account> accounts = accountRepository.findAccounts(page);
+        getAccountsResultSize().record(accounts.size());
+        return accounts;
+    }
+
+    @Transactional(readOnly = true, label = SECONDARY_READS)
+    @Timed(value = SERVICE_TIMER, histogram = true)
+    @Override
+    public AccountSlice getAccounts(String continuationToken, int size) {
+        log.debug("Fetching accounts after continuation token: {}, size: {}", continuationToken, size);
+        Pageable page = PageRequest.of(0, size + 1);
+        List<AccountEntity> accounts = continuationToken == null
+                ? accountRepository.findAllByOrderById(page)
+                : accountRepository.findAccountEntityByIdGreaterThanOrderById(ContinuationTokenUtils.decode(continuationToken), page);
+        boolean hasNext = accounts.size() > size;
+        List<AccountEntity> content = hasNext ? accounts.subList(0, size) : accounts;
+        getAccountsSliceResultSize().record(content.size());
+        return new AccountSlice(
+                content.stream().map(toAccountConverter::convert).collect(Collectors.toList()),
+                hasNext ? ContinuationTokenUtils.encode(content.get(size - 1).getId()) : null
+        );
+    }
+
+    @Timed(value = SERVICE_TIMER, histogram = true)
+    @Override
+    public Stream<Account> exportAccounts() {
+        log.debug("Exporting accounts");
+        return accountRepository.streamAccounts(EXPORT_BATCH_SIZE);
     }
 
     @Transactional(readOnly = true)
+    @Timed(value = SERVICE_TIMER, histogram = true)
     @Override
     public Account getAccount(String accountNumber) {
         log.debug("Fetching account by accountNumber: {}", accountNumber);
-        return accountRepository.findAccountEntityByAccountNumber(accountNumber)
-                .map(toAccountConverter::convert)
-                .orElseThrow(() -> new AccountNotFoundException("Cannot find account by account number: " + accountNumber));
+        return findVersionedAccount(accountNumber).getValue();
+    }
+
+    /**
+     * Served from the accounts cache like {@link #getAccount(String)}, every write of the account evicts it.
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = SERVICE_TIMER, histogram = true)
+    @Override
+    public Versioned<Account> getVersionedAccount(String accountNumber) {
+        log.debug("Fetching versioned account by accountNumber: {}", accountNumber);
+        return findVersionedAccount(accountNumber);
     }
 
-    @Transactional
+    @Timed(value = SERVICE_TIMER, histogram = true)
     @Override
     public Account createAccount(CreateAccountDto accountDto) {
         log.debug("Creating account: {}", accountDto);
-        AccountEntity accountEntity = generateAccountNumber(Objects.requireNonNull(toAccountEntityConverter.convert(accountDto)));
-        Account account = toAccountConverter.convert(accountRepository.save(accountEntity));
+        AccountEntity accountEntity = accountRepository.save(
+                generateAccountNumber(Objects.requireNonNull(toAccountEntityConverter.convert(accountDto))));
+        Account account = toAccountConverter.convert(accountEntity);
+        accountNumberFilter.add(accountEntity.getAccountNumber());
+        cacheAccount(accountEntity.getAccountNumber(), Versioned.of(version(accountEntity), () -> account));
         log.debug("Successfully saved account: {}", account);
         return account;
     }
 
+    @Timed(value = SERVICE_TIMER, histogram = true)
+    @Override
+    public List<BatchItemResult<Account>> createAccounts(List<CreateAccountDto> accountDtos) {
+        log.debug("Creating {} accounts", accountDtos.size());
+        List<BatchItemResult<Account>> results = new ArrayList<>(Collections.nCopies(accountDtos.size(), null));
+        List<Integer> indexes = new ArrayList<>();
+        List<AccountEntity> accountEntities = new ArrayList<>();
+        for (int i = 0; i < accountDtos.size(); i++) {
+            CreateAccountDto accountDto = accountDtos.get(i);
+            if (accountDto == null) {
+                results.set(i, BatchItemResult.failure(i, Map.of("account", "must not be null")));
+                continue;
+            }
+            Set<ConstraintViolation<CreateAccountDto>> violations = validator.validate(accountDto);
+            if (!violations.isEmpty()) {
+                results.set(i, BatchItemResult.failure(i, ConstraintViolationUtils.toErrors(violations)));
+                continue;
+            }
+            indexes.add(i);
+            accountEntities.add(generateAccountNumber(Objects.requireNonNull(toAccountEntityConverter.convert(accountDto))));
+        }
+        Map<Integer, String> writeErrors = accountEntities.isEmpty() ? Map.of() : accountRepository.insertAll(accountEntities);
+        for (int i = 0; i < accountEntities.size(); i++) {
+            int index = indexes.get(i);
+            if (writeErrors.containsKey(i)) {
+                results.set(index, BatchItemResult.failure(index, Map.of("account", writeErrors.get(i))));
+            } else {
+                accountNumberFilter.add(accountEntities.get(i).getAccountNumber());
+                results.set(index, BatchItemResult.success(index, toAccountConverter.convert(accountEntities.get(i))));
+            }
+        }
+        log.debug("Successfully saved {} of {} accounts", accountEntities.size() - writeErrors.size(), accountDtos.size());
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Versioned<Account> findVersionedAccount(String accountNumber) {
+        Cache cache = cacheManager.getCache(ACCOUNTS_CACHE);
+        Versioned<Account> cached = cache == null ? null : cache.get(accountNumber, Versioned.class);
+        if (cached != null) {
+            return cached;
+        }
+        if (!accountNumberFilter.mightExist(accountNumber)) {
+            throw accountNotFound(accountNumber);
+        }
+        AccountEntity account = accountRepository.findAccountEntityByAccountNumber(accountNumber)
+                .orElseThrow(() -> accountNotFound(accountNumber));
+        Versioned<Account> versioned = Versioned.of(version(account), () -> toAccountConverter.convert(account));
+        cacheAccount(accountNumber, versioned);
+        return versioned;
+    }
+
+    private void cacheAccount(String accountNumber, Versioned<Account> account) {
+        Cache cache = cacheManager.getCache(ACCOUNTS_CACHE);
+        if (cache != null) {
+            cache.put(accountNumber, account);
+        }
+    }
+
+    private static String version(AccountEntity account) {
+        return String.valueOf(account.getVersion() == null ? 0 : account.getVersion());
+    }
+
+    private static AccountNotFoundException accountNotFound(String accountNumber) {
+        return new AccountNotFoundException("Cannot find account by account number: " + accountNumber);
+    }
+
     private AccountEntity generateAccountNumber(AccountEntity accountEntity) {
         return accountEntity.toBuilder()
-                .accountNumber(AccountUtils.generateAccountNumber())
+                .accountNumber(accountNumberGenerator.generate())
                 .build();
     }
 }
@@ -0,0 +1,32 @@
+package nl.rabobank.service;
+
+import nl.rabobank.model.IdempotentResponse;
+
+import java.util.Optional;
+
+public interface IdempotencyService {
+
+    /**
+     * Reserves the key for a new request identified by {@code owner}, taking over reservations that expired.
+     *
+     * @return empty if reserved, otherwise the response (or in-progress reservation) of the earlier request with the key
+     */
+    Optional<IdempotentResponse> reserve(String key, String owner, String fingerprint);
+
+    /**
+     * Extends the reservation of {@code owner} by the lock timeout.
+     *
+     * @return {@code false} if the reservation expired and was taken over
+     */
+    boolean renew(String key, String owner);
+
+    /**
+     * Stores the response unless the reservation of {@code owner} expired and was taken over.
+     */
+    void complete(String key, String owner, IdempotentResponse response);
+
+    /**
+     * Deletes the reservation if {@code owner} still holds it.
+     */
+    void release(String key, String owner);
+}
@@ -0,0 +1,110 @@
+package nl.rabobank.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nl.rabobank.config.IdempotencyProperties;
+import nl.rabobank.model.IdempotentResponse;
+import nl.rabobank.mongo.model.IdempotencyRecordEntity;
+import nl.rabobank.mongo.repository.IdempotencyRepository;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Keeps responses in {@code idempotency_keys}, expired by a TTL index, with completed responses also cached in memory
+ * until the same {@code expiresAt}, so replays on the same instance do not reach Mongo.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    private final IdempotencyRepository idempotencyRepository;
+    private final Cache<String, IdempotentResponse> responses;
+    private final IdempotencyProperties properties;
+
+    /**
+     * Records the TTL monitor has not removed yet are treated as gone once {@code expiresAt} passed.
+     */
+    @Override
+    public Optional<IdempotentResponse> reserve(String key, String owner, String fingerprint) {
+        IdempotentResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        for (int attempt = 0; attempt < MAX_RESERVE_ATTEMPTS; attempt++) {
+            Instant now = Instant.now();
+            IdempotencyRecordEntity reservation = IdempotencyRecordEntity.builder()
+                    .id(key)
+                    .owner(owner)
+                    .fingerprint(fingerprint)
+                    .expiresAt(now.plus(properties.getLockTimeout()))
+                    .build();
+            if (insert(reservation) || idempotencyRepository.takeOver(reservation, now)) {
+                return Optional.empty();
+            }
+            Optional<IdempotentResponse> previous = idempotencyRepository.findById(key)
+                    .filter(record -> record.getExpiresAt().isAfter(now))
+                    .map(this::toResponse);
+            if (previous.isPresent()) {
+                if (previous.get().isCompleted()) {
+                    responses.put(key, previous.get());
+                }
+                return previous;
+            }
+            log.debug("Idempotency key released while reserving, retrying: {}", key);
+        }
+        return Optional.of(IdempotentResponse.builder().fingerprint(fingerprint).build());
+    }
+
+    @Override
+    public boolean renew(String key, String owner) {
+        return idempotencyRepository.renew(key, owner, Instant.now().plus(properties.getLockTimeout()));
+    }
+
+    @Override
+    public void complete(String key, String owner, IdempotentResponse response) {
+        Instant expiresAt = Instant.now().plus(properties.getTtl());
+        boolean stored = idempotencyRepository.complete(IdempotencyRecordEntity.builder()
+                .id(key)
+                .owner(owner)
+                .status(response.getStatus())
+                .contentType(response.getContentType())
+                .body(response.getBody())
+                .expiresAt(expiresAt)
+                .build());
+        if (stored) {
+            responses.put(key, response.toBuilder().expiresAt(expiresAt).build());
+        } else {
+            log.warn("Idempotency key reservation expired before the response was stored: {}", key);
+        }
+    }
+
+    @Override
+    public void release(String key, String owner) {
+        idempotencyRepository.release(key, owner);
+    }
+
+    private boolean insert(IdempotencyRecordEntity reservation) {
+        try {
+            idempotencyRepository.insert(reservation);
+            return true;
+        } catch (DuplicateKeyException e) {
+            log.debug("Idempotency key already used: {}", reservation.getId());
+            return false;
+        }
+    }
+
+    private IdempotentResponse toResponse(IdempotencyRecordEntity record) {
+        return IdempotentResponse.builder()
+                .fingerprint(record.getFingerprint())
+                .status(record.getStatus())
+                .contentType(record.getContentType())
+                .body(record.getBody())
+                .expiresAt(record.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package nl.rabobank.service;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import nl.rabobank.model.IdempotentResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Expires a cached response together with its stored record at {@code expiresAt}, rather than a full TTL after it was
+ * cached, e.g. when it was read from Mongo shortly before the record expires.
+ */
+public class IdempotentResponseExpiry implements Expiry<String, IdempotentResponse> {
+
+    @Override
+    public long expireAfterCreate(String key, IdempotentResponse response, long currentTime) {
+        return Math.max(0, Duration.between(Instant.now(), response.getExpiresAt()).toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, IdempotentResponse response, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, response, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, IdempotentResponse response, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
@@ -3,7 +3,9 @@ package nl.rabobank.service;
 import nl.rabobank.account.Account;
 import nl.rabobank.authorizations.Authorization;
 import nl.rabobank.authorizations.PowerOfAttorney;
+import nl.rabobank.model.BatchItemResult;
 import nl.rabobank.model.CreatePowerOfAttorneyDto;
+import nl.rabobank.model.Versioned;
 
 import java.util.List;
 
@@ -11,9 +13,17 @@ public interface PowerOfAttorneyService {
 
     PowerOfAttorney grantAccess(CreatePowerOfAttorneyDto powerOfAttorneyDto);
 
+    List<BatchItemResult<PowerOfAttorney>> grantAccesses(List<CreatePowerOfAttorneyDto> powerOfAttorneyDtos);
+
     List<Account> getGrantedAccounts(String granteeName);
 
+    Versioned<List<Account>> getVersionedGrantedAccounts(String granteeName);
+
     List<Account> getGrantedAccounts(String granteeName, Authorization authorization);
 
+    Versioned<List<Account>> getVersionedGrantedAccounts(String granteeName, Authorization authorization);
+
     List<PowerOfAttorney> getPowerOfAttorneys(String granteeName);
+
+    Versioned<List<PowerOfAttorney>> getVersionedPowerOfAttorneys(String granteeName);
 }
@@ -1,87 +1,286 @@
 package nl.rabobank.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nl.rabobank.account.Account;
 import nl.rabobank.authorizations.Authorization;
 import nl.rabobank.authorizations.PowerOfAttorney;
+import nl.rabobank.cache.GranteeCache;
 import nl.rabobank.exception.AccountNotFoundException;
 import nl.rabobank.exception.PowerOfAttorneySecurityException;
+import nl.rabobank.filter.AccountNumberFilter;
+import nl.rabobank.model.BatchItemResult;
 import nl.rabobank.model.CreatePowerOfAttorneyDto;
+import nl.rabobank.model.Versioned;
+import nl.rabobank.mongo.ReadOnlyRoutingMongoDatabaseFactory;
 import nl.rabobank.mongo.model.AccountEntity;
-import nl.rabobank.mongo.model.PowerOfAttorneyGrantee;
+import nl.rabobank.mongo.model.GrantEntity;
 import nl.rabobank.mongo.repository.AccountRepository;
+import nl.rabobank.mongo.repository.GrantRepository;
+import nl.rabobank.retry.RetryOnConflict;
+import nl.rabobank.util.ConstraintViolationUtils;
+import nl.rabobank.util.ETagUtils;
+import nl.rabobank.util.MetricsUtils;
+import nl.rabobank.util.SingleFlight;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static nl.rabobank.config.MetricsConfiguration.SERVICE_TIMER;
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
 
 @Slf4j
 @RequiredArgsConstructor
+@Profile("!" + REACTIVE_PROFILE)
 @Service
 public class PowerOfAttorneyServiceImpl implements PowerOfAttorneyService {
 
+    private static final String GRANTED_ACCOUNTS_QUERY = "grantedAccounts";
+    private static final String POWER_OF_ATTORNEYS_QUERY = "powerOfAttorneys";
+
     private final AccountRepository accountRepository;
-    private final Converter<CreatePowerOfAttorneyDto, PowerOfAttorneyGrantee> toPowerOfAttorneyGranteeConverter;
-    private final Converter<AccountEntity, Account> toAccountConverter;
-    private final Converter<Pair<List<AccountEntity>, String>, List<PowerOfAttorney>> toPowerOfAttorneys;
+    private final GrantRepository grantRepository;
+    private final Converter<CreatePowerOfAttorneyDto, GrantEntity> toGrantEntityConverter;
+    private final Converter<Pair<List<AccountEntity>, List<GrantEntity>>, List<PowerOfAttorney>> toPowerOfAttorneys;
     private final Converter<Pair<CreatePowerOfAttorneyDto, AccountEntity>, PowerOfAttorney> toPowerOfAttorney;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    private final DistributionSummary grantedAccountsResultSize = MetricsUtils.resultSizeSummary(meterRegistry, "getGrantedAccounts");
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    private final DistributionSummary grantedAccountsByAuthorizationResultSize = MetricsUtils.resultSizeSummary(meterRegistry,
+            "getGrantedAccountsByAuthorization");
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    private final DistributionSummary powerOfAttorneysResultSize = MetricsUtils.resultSizeSummary(meterRegistry, "getPowerOfAttorneys");
+    private final Converter<AccountEntity, Account> toAccountConverter;
+    private final SingleFlight<String, Versioned<List<Account>>> grantedAccountsCalls = new SingleFlight<>();
+    private final SingleFlight<Pair<String, Authorization>, Versioned<List<Account>>> grantedAccountsByAuthorizationCalls = new SingleFlight<>();
+    private final SingleFlight<String, Versioned<List<PowerOfAttorney>>> powerOfAttorneysCalls = new SingleFlight<>();
+    private final AccountNumberFilter accountNumberFilter;
+    private final GranteeCache granteeCache;
 
+    @RetryOnConflict
     @Transactional
+    @Timed(value = SERVICE_TIMER, histogram = true)
     @Override
     public PowerOfAttorney grantAccess(CreatePowerOfAttorneyDto powerOfAttorneyDto) {
         log.debug("Creating Power Of Attorney: {}", powerOfAttorneyDto);
 
-        AccountEntity account = getAccount(powerOfAttorneyDto);
-        account.addGrantee(toPowerOfAttorneyGranteeConverter.convert(powerOfAttorneyDto));
-        AccountEntity savedAccount = accountRepository.save(account);
+        if (powerOfAttorneyDto.getGrantor().equals(powerOfAttorneyDto.getGrantee())) {
+            throw new PowerOfAttorneySecurityException("Grantor cannot give access to himself/herself");
+        }
+        if (!accountNumberFilter.mightExist(powerOfAttorneyDto.getAccountNumber())) {
+            throw new AccountNotFoundException(accountNotFoundMessage(powerOfAttorneyDto.getAccountNumber()));
+        }
+        // the grant lives in its own collection, so the grantor is checked on the account before the upsert
+        AccountEntity account = accountRepository.findAccountEntityByAccountNumberAndAccountHolderName(powerOfAttorneyDto.getAccountNumber(),
+                        powerOfAttorneyDto.getGrantor())
+                .orElseThrow(() -> toGrantException(powerOfAttorneyDto));
+        grantRepository.addGrant(Objects.requireNonNull(toGrantEntityConverter.convert(powerOfAttorneyDto)));
+        granteeCache.evict(powerOfAttorneyDto.getGrantee());
 
         log.debug("{} successfully obtained access to account number: {}", powerOfAttorneyDto.getGrantee(), powerOfAttorneyDto.getAccountNumber());
-        return toPowerOfAttorney.convert(Pair.of(powerOfAttorneyDto, savedAccount));
+        return toPowerOfAttorney.convert(Pair.of(powerOfAttorneyDto, account));
+    }
+
+    @RetryOnConflict
+    @Transactional
+    @Timed(value = SERVICE_TIMER, histogram = true)
+    @Override
+    public List<BatchItemResult<PowerOfAttorney>> grantAccesses(List<CreatePowerOfAttorneyDto> powerOfAttorneyDtos) {
+        log.debug("Creating {} Power Of Attorneys", powerOfAttorneyDtos.size());
+        List<BatchItemResult<PowerOfAttorney>> results = new ArrayList<>(Collections.nCopies(powerOfAttorneyDtos.size(), null));
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < powerOfAttorneyDtos.size(); i++) {
+            Map<String, String> errors = validate(powerOfAttorneyDtos.get(i));
+            if (errors.isEmpty() && !accountNumberFilter.mightExist(powerOfAttorneyDtos.get(i).getAccountNumber())) {
+                errors = Map.of("accountNumber", accountNotFoundMessage(powerOfAttorneyDtos.get(i).getAccountNumber()));
+            }
+            if (errors.isEmpty()) {
+                indexes.add(i);
+            } else {
+                results.set(i, BatchItemResult.failure(i, errors));
+            }
+        }
+        if (indexes.isEmpty()) {
+            return results;
+        }
+
+        Map<String, AccountEntity> accounts = accountRepository.findAccountEntityByAccountNumberIn(indexes.stream()
+                        .map(index -> powerOfAttorneyDtos.get(index).getAccountNumber())
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(AccountEntity::getAccountNumber, Function.identity()));
+
+        List<GrantEntity> grants = new ArrayList<>();
+        for (int index : indexes) {
+            CreatePowerOfAttorneyDto powerOfAttorneyDto = powerOfAttorneyDtos.get(index);
+            AccountEntity account = accounts.get(powerOfAttorneyDto.getAccountNumber());
+            if (account == null) {
+                results.set(index, BatchItemResult.failure(index, Map.of("accountNumber", accountNotFoundMessage(powerOfAttorneyDto.getAccountNumber()))));
+            } else if (!account.getAccountHolderName().equals(powerOfAttorneyDto.getGrantor())) {
+                results.set(index, BatchItemResult.failure(index, Map.of("grantor", "Grantor can give access only for own account")));
+            } else {
+                grants.add(toGrantEntityConverter.convert(powerOfAttorneyDto));
+                results.set(index, BatchItemResult.success(index, toPowerOfAttorney.convert(Pair.of(powerOfAttorneyDto, account))));
+            }
+        }
+        if (!grants.isEmpty()) {
+            grantRepository.addGrants(grants);
+            grants.forEach(grant -> granteeCache.evict(grant.getGranteeName()));
+        }
+
+        log.debug("{} of {} Power Of Attorneys successfully granted", grants.size(), powerOfAttorneyDtos.size());
+        return results;
     }
 
     @Transactional(readOnly = true)
+    @Timed(value = SERVICE_TIMER, histogram = true)
     @Override
     public List<Account> getGrantedAccounts(String granteeName) {
+        return getVersionedGrantedAccounts(granteeName).getValue();
+    }
+
+    @Transactional(readOnly = true)
+    @Timed(value = SERVICE_TIMER, histogram = true)
+    @Override
+    public Versioned<List<Account>> getVersionedGrantedAccounts(String granteeName) {
         log.debug("Fetching Granted Accounts by Grantee: {}", granteeName);
-        return accountRepository.findAccountEntityByPowerOfAttorneys_GranteeNameOrderById(granteeName)
-                .stream()
-                .map(toAccountConverter::convert)
-                .collect(Collectors.toList());
+        return getCached(granteeName, GRANTED_ACCOUNTS_QUERY, grantedAccountsCalls, granteeName,
+                () -> grantRepository.findByGranteeName(granteeName), this::toGrantedAccounts)
+                .peek(accounts -> getGrantedAccountsResultSize().record(accounts.size()));
     }
 
     @Transactional(readOnly = true)
+    @Timed(value = SERVICE_TIMER, histogram = true)
     @Override
     public List<Account> getGrantedAccounts(final String granteeName, final Authorization authorization) {
+        return getVersionedGrantedAccounts(granteeName, authorization).getValue();
+    }
+
+    @Transactional(readOnly = true)
+    @Timed(value = SERVICE_TIMER, histogram = true)
+    @Override
+    public Versioned<List<Account>> getVersionedGrantedAccounts(final String granteeName, final Authorization authorization) {
         log.debug("Fetching Granted Accounts by Grantee: {}", granteeName);
-        return accountRepository.findAccountEntityByPowerOfAttorneys_GranteeNameAndPowerOfAttorneys_AuthorizationOrderById(granteeName, authorization)
-                .stream()
-                .map(toAccountConverter::convert)
-                .collect(Collectors.toList());
+        return getCached(granteeName, GRANTED_ACCOUNTS_QUERY + ":" + authorization,
+                grantedAccountsByAuthorizationCalls, Pair.of(granteeName, authorization),
+                () -> grantRepository.findByGranteeNameAndAuthorization(granteeName, authorization), this::toGrantedAccounts)
+                .peek(accounts -> getGrantedAccountsByAuthorizationResultSize().record(accounts.size()));
     }
 
     @Transactional(readOnly = true)
+    @Timed(value = SERVICE_TIMER, histogram = true)
     @Override
     public List<PowerOfAttorney> getPowerOfAttorneys(String granteeName) {
+        return getVersionedPowerOfAttorneys(granteeName).getValue();
+    }
+
+    @Transactional(readOnly = true)
+    @Timed(value = SERVICE_TIMER, histogram = true)
+    @Override
+    public Versioned<List<PowerOfAttorney>> getVersionedPowerOfAttorneys(String granteeName) {
         log.debug("Fetching Power Of Attorneys by Grantee: {}", granteeName);
-        List<AccountEntity> accounts = accountRepository.findAccountEntityByPowerOfAttorneys_GranteeNameOrderById(granteeName);
-        return toPowerOfAttorneys.convert(Pair.of(accounts, granteeName));
+        return getCached(granteeName, POWER_OF_ATTORNEYS_QUERY, powerOfAttorneysCalls, granteeName,
+                () -> grantRepository.findByGranteeName(granteeName), this::toPowerOfAttorneys)
+                .peek(powerOfAttorneys -> getPowerOfAttorneysResultSize().record(powerOfAttorneys.size()));
     }
 
-    private AccountEntity getAccount(CreatePowerOfAttorneyDto powerOfAttorneyDto) {
+    /**
+     * Results with time bounded grants are not cached, they change on expiry without any write. Neither are results
+     * read from a secondary, which may predate an eviction the change stream already delivered.
+     */
+    private <K, V> Versioned<V> getCached(String granteeName, String query, SingleFlight<K, Versioned<V>> calls, K key,
+                                          Supplier<List<GrantEntity>> grantsLoader,
+                                          Function<List<GrantEntity>, Versioned<V>> resultLoader) {
+        Versioned<V> cached = granteeCache.get(granteeName, query);
+        if (cached != null) {
+            return cached;
+        }
+        return calls.execute(key, () -> {
+            long version = granteeCache.version();
+            List<GrantEntity> grants = grantsLoader.get();
+            Versioned<V> result = resultLoader.apply(grants);
+            if (!ReadOnlyRoutingMongoDatabaseFactory.isSecondaryReadsScope() && grants.stream().allMatch(GrantEntity::isPermanent)) {
+                granteeCache.put(granteeName, query, result, version);
+            }
+            return result;
+        });
+    }
+
+    private Versioned<List<Account>> toGrantedAccounts(List<GrantEntity> grants) {
+        List<AccountEntity> accounts = getAccounts(grants);
+        return Versioned.of(toVersion(grants, accounts), () -> accounts.stream()
+                .map(toAccountConverter::convert)
+                .collect(Collectors.toUnmodifiableList()));
+    }
+
+    private Versioned<List<PowerOfAttorney>> toPowerOfAttorneys(List<GrantEntity> grants) {
+        List<AccountEntity> accounts = getAccounts(grants);
+        return Versioned.of(toVersion(grants, accounts),
+                () -> Collections.unmodifiableList(toPowerOfAttorneys.convert(Pair.of(accounts, grants))));
+    }
+
+    private List<AccountEntity> getAccounts(List<GrantEntity> grants) {
+        if (grants.isEmpty()) {
+            return List.of();
+        }
+        return accountRepository.findAccountEntityByAccountNumberInOrderById(grants.stream()
+                .map(GrantEntity::getAccountNumber)
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Changes with any grant of the result or any version of the granted accounts.
+     */
+    private static String toVersion(List<GrantEntity> grants, List<AccountEntity> accounts) {
+        return ETagUtils.digest(Stream.concat(
+                grants.stream().map(grant -> grant.getAccountNumber() + " " + grant.getAuthorization() + " " + grant.getValidUntil()),
+                accounts.stream().map(account -> account.getAccountNumber() + " " + account.getVersion())));
+    }
+
+    private Map<String, String> validate(CreatePowerOfAttorneyDto powerOfAttorneyDto) {
+        if (powerOfAttorneyDto == null) {
+            return Map.of("powerOfAttorney", "must not be null");
+        }
+        Set<ConstraintViolation<CreatePowerOfAttorneyDto>> violations = validator.validate(powerOfAttorneyDto);
+        if (!violations.isEmpty()) {
+            return ConstraintViolationUtils.toErrors(violations);
+        }
         if (powerOfAttorneyDto.getGrantor().equals(powerOfAttorneyDto.getGrantee())) {
-            throw new PowerOfAttorneySecurityException("Grantor cannot give access to himself/herself");
+            return Map.of("grantee", "Grantor cannot give access to himself/herself");
         }
-        var account = accountRepository.findAccountEntityByAccountNumber(powerOfAttorneyDto.getAccountNumber())
-                .orElseThrow(() -> new AccountNotFoundException("Cannot find account by account number: " + powerOfAttorneyDto.getAccountNumber()));
+        return Map.of();
+    }
 
-        if (!powerOfAttorneyDto.getGrantor().equals(account.getAccountHolderName())) {
-            throw new PowerOfAttorneySecurityException("Grantor can give access only for own account");
+    private RuntimeException toGrantException(CreatePowerOfAttorneyDto powerOfAttorneyDto) {
+        if (accountRepository.existsAccountEntityByAccountNumber(powerOfAttorneyDto.getAccountNumber())) {
+            return new PowerOfAttorneySecurityException("Grantor can give access only for own account");
         }
+        return new AccountNotFoundException(accountNotFoundMessage(powerOfAttorneyDto.getAccountNumber()));
+    }
 
-        return account;
+    private static String accountNotFoundMessage(String accountNumber) {
+        return "Cannot find account by account number: " + accountNumber;
     }
 }
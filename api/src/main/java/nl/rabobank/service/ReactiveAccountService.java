@@ -0,0 +1,18 @@
+package nl.rabobank.service;
+
+import nl.rabobank.account.Account;
+import nl.rabobank.model.CreateAccountDto;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAccountService {
+
+    Flux<Account> getAccounts(Pageable page);
+
+    Flux<Account> exportAccounts();
+
+    Mono<Account> getAccount(String accountNumber);
+
+    Mono<Account> createAccount(CreateAccountDto accountDto);
+}
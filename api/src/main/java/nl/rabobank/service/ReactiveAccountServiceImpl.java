@@ -0,0 +1,74 @@
+package nl.rabobank.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nl.rabobank.account.Account;
+import nl.rabobank.exception.AccountNotFoundException;
+import nl.rabobank.generator.AccountNumberGenerator;
+import nl.rabobank.model.CreateAccountDto;
+import nl.rabobank.mongo.model.AccountEntity;
+import nl.rabobank.mongo.repository.ReactiveAccountRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Objects;
+
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
+
+@Slf4j
+@RequiredArgsConstructor
+@Profile(REACTIVE_PROFILE)
+@Service
+public class ReactiveAccountServiceImpl implements ReactiveAccountService {
+
+    private static final int EXPORT_BATCH_SIZE = 1000;
+
+    private final ReactiveAccountRepository accountRepository;
+    private final Converter<AccountEntity, Account> toAccountConverter;
+    private final Converter<CreateAccountDto, AccountEntity> toAccountEntityConverter;
+    private final AccountNumberGenerator accountNumberGenerator;
+
+    @Override
+    public Flux<Account> getAccounts(Pageable page) {
+        log.debug("Fetching accounts. {}", page);
+        return accountRepository.findAccounts(page)
+                .map(toAccountConverter::convert);
+    }
+
+    @Override
+    public Flux<Account> exportAccounts() {
+        log.debug("Exporting accounts");
+        return accountRepository.streamAll(EXPORT_BATCH_SIZE)
+                .map(toAccountConverter::convert);
+    }
+
+    @Override
+    public Mono<Account> getAccount(String accountNumber) {
+        log.debug("Fetching account by accountNumber: {}", accountNumber);
+        return accountRepository.findAccountEntityByAccountNumber(accountNumber)
+                .map(toAccountConverter::convert)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException("Cannot find account by account number: " + accountNumber)));
+    }
+
+    @Override
+    public Mono<Account> createAccount(CreateAccountDto accountDto) {
+        log.debug("Creating account: {}", accountDto);
+        // the sequence generator blocks on its high-water mark every few seconds, so it runs off the event loop
+        return Mono.fromSupplier(() -> generateAccountNumber(Objects.requireNonNull(toAccountEntityConverter.convert(accountDto))))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(accountRepository::save)
+                .map(toAccountConverter::convert)
+                .doOnNext(account -> log.debug("Successfully saved account: {}", account));
+    }
+
+    private AccountEntity generateAccountNumber(AccountEntity accountEntity) {
+        return accountEntity.toBuilder()
+                .accountNumber(accountNumberGenerator.generate())
+                .build();
+    }
+}
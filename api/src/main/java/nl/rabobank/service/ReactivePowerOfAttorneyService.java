@@ -0,0 +1,19 @@
+package nl.rabobank.service;
+
+import nl.rabobank.account.Account;
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.authorizations.PowerOfAttorney;
+import nl.rabobank.model.CreatePowerOfAttorneyDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactivePowerOfAttorneyService {
+
+    Mono<PowerOfAttorney> grantAccess(CreatePowerOfAttorneyDto powerOfAttorneyDto);
+
+    Flux<Account> getGrantedAccounts(String granteeName);
+
+    Flux<Account> getGrantedAccounts(String granteeName, Authorization authorization);
+
+    Flux<PowerOfAttorney> getPowerOfAttorneys(String granteeName);
+}
@@ -0,0 +1,103 @@
+package nl.rabobank.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nl.rabobank.account.Account;
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.authorizations.PowerOfAttorney;
+import nl.rabobank.exception.AccountNotFoundException;
+import nl.rabobank.exception.PowerOfAttorneySecurityException;
+import nl.rabobank.model.CreatePowerOfAttorneyDto;
+import nl.rabobank.mongo.model.AccountEntity;
+import nl.rabobank.mongo.model.GrantEntity;
+import nl.rabobank.mongo.repository.ReactiveAccountRepository;
+import nl.rabobank.mongo.repository.ReactiveGrantRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
+
+@Slf4j
+@RequiredArgsConstructor
+@Profile(REACTIVE_PROFILE)
+@Service
+public class ReactivePowerOfAttorneyServiceImpl implements ReactivePowerOfAttorneyService {
+
+    private final ReactiveAccountRepository accountRepository;
+    private final ReactiveGrantRepository grantRepository;
+    private final Converter<CreatePowerOfAttorneyDto, GrantEntity> toGrantEntityConverter;
+    private final Converter<AccountEntity, Account> toAccountConverter;
+    private final Converter<Pair<List<AccountEntity>, List<GrantEntity>>, List<PowerOfAttorney>> toPowerOfAttorneys;
+    private final Converter<Pair<CreatePowerOfAttorneyDto, AccountEntity>, PowerOfAttorney> toPowerOfAttorney;
+
+    @Override
+    public Mono<PowerOfAttorney> grantAccess(CreatePowerOfAttorneyDto powerOfAttorneyDto) {
+        log.debug("Creating Power Of Attorney: {}", powerOfAttorneyDto);
+
+        if (powerOfAttorneyDto.getGrantor().equals(powerOfAttorneyDto.getGrantee())) {
+            return Mono.error(new PowerOfAttorneySecurityException("Grantor cannot give access to himself/herself"));
+        }
+        return accountRepository.findAccountEntityByAccountNumberAndAccountHolderName(powerOfAttorneyDto.getAccountNumber(),
+                        powerOfAttorneyDto.getGrantor())
+                .switchIfEmpty(Mono.defer(() -> toGrantException(powerOfAttorneyDto)))
+                .flatMap(account -> grantRepository.addGrant(Objects.requireNonNull(toGrantEntityConverter.convert(powerOfAttorneyDto)))
+                        .thenReturn(account))
+                .map(account -> toPowerOfAttorney.convert(Pair.of(powerOfAttorneyDto, account)))
+                .doOnNext(powerOfAttorney -> log.debug("{} successfully obtained access to account number: {}",
+                        powerOfAttorneyDto.getGrantee(), powerOfAttorneyDto.getAccountNumber()));
+    }
+
+    @Override
+    public Flux<Account> getGrantedAccounts(String granteeName) {
+        log.debug("Fetching Granted Accounts by Grantee: {}", granteeName);
+        return getAccounts(grantRepository.findByGranteeName(granteeName))
+                .map(toAccountConverter::convert);
+    }
+
+    @Override
+    public Flux<Account> getGrantedAccounts(final String granteeName, final Authorization authorization) {
+        log.debug("Fetching Granted Accounts by Grantee: {}", granteeName);
+        return getAccounts(grantRepository.findByGranteeNameAndAuthorization(granteeName, authorization))
+                .map(toAccountConverter::convert);
+    }
+
+    @Override
+    public Flux<PowerOfAttorney> getPowerOfAttorneys(String granteeName) {
+        log.debug("Fetching Power Of Attorneys by Grantee: {}", granteeName);
+        return grantRepository.findByGranteeName(granteeName)
+                .collectList()
+                .flatMap(grants -> getAccounts(Flux.fromIterable(grants))
+                        .collectList()
+                        .map(accounts -> Objects.requireNonNull(toPowerOfAttorneys.convert(Pair.of(accounts, grants)))))
+                .flatMapIterable(powerOfAttorneys -> powerOfAttorneys);
+    }
+
+    private Flux<AccountEntity> getAccounts(Flux<GrantEntity> grants) {
+        return grants.map(GrantEntity::getAccountNumber)
+                .collect(Collectors.toSet())
+                .flatMapMany(this::getAccounts);
+    }
+
+    private Flux<AccountEntity> getAccounts(Set<String> accountNumbers) {
+        if (accountNumbers.isEmpty()) {
+            return Flux.empty();
+        }
+        return accountRepository.findAccountEntityByAccountNumberInOrderById(accountNumbers);
+    }
+
+    private <T> Mono<T> toGrantException(CreatePowerOfAttorneyDto powerOfAttorneyDto) {
+        return accountRepository.existsAccountEntityByAccountNumber(powerOfAttorneyDto.getAccountNumber())
+                .flatMap(exists -> Mono.error(exists
+                        ? new PowerOfAttorneySecurityException("Grantor can give access only for own account")
+                        : new AccountNotFoundException("Cannot find account by account number: " + powerOfAttorneyDto.getAccountNumber())));
+    }
+}
@@ -0,0 +1,18 @@
+package nl.rabobank.util;
+
+import lombok.experimental.UtilityClass;
+
+import jakarta.validation.ConstraintViolation;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+@UtilityClass
+public class ConstraintViolationUtils {
+
+    public static <T> Map<String, String> toErrors(Set<ConstraintViolation<T>> violations) {
+        Map<String, String> errors = new HashMap<>();
+        violations.forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return errors;
+    }
+}
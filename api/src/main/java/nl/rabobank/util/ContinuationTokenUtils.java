@@ -0,0 +1,29 @@
+package nl.rabobank.util;
+
+import lombok.experimental.UtilityClass;
+import nl.rabobank.exception.InvalidContinuationTokenException;
+import org.bson.types.ObjectId;
+
+import java.util.Base64;
+
+@UtilityClass
+public class ContinuationTokenUtils {
+
+    private static final int OBJECT_ID_LENGTH = 12;
+
+    public static String encode(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(new ObjectId(id).toByteArray());
+    }
+
+    public static ObjectId decode(String continuationToken) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(continuationToken);
+            if (bytes.length != OBJECT_ID_LENGTH) {
+                throw new InvalidContinuationTokenException("Invalid continuation token: " + continuationToken);
+            }
+            return new ObjectId(bytes);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidContinuationTokenException("Invalid continuation token: " + continuationToken);
+        }
+    }
+}
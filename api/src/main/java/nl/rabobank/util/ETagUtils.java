@@ -0,0 +1,35 @@
+package nl.rabobank.util;
+
+import lombok.experimental.UtilityClass;
+import nl.rabobank.model.Versioned;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@UtilityClass
+public class ETagUtils {
+
+    /**
+     * @return 304 without touching the value if {@code If-None-Match} matches the version, the value otherwise
+     */
+    public static <T> ResponseEntity<T> toResponse(Versioned<T> versioned, WebRequest request) {
+        if (request.checkNotModified(versioned.getVersion())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(versioned.getVersion()).build();
+        }
+        return ResponseEntity.ok().eTag(versioned.getVersion()).body(versioned.getValue());
+    }
+
+    /**
+     * @return digest of the parts in sorted order, so it does not depend on the query result order
+     */
+    public static String digest(Stream<String> parts) {
+        return DigestUtils.md5DigestAsHex(parts.sorted()
+                .collect(Collectors.joining("\n"))
+                .getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,22 @@
+package nl.rabobank.util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.experimental.UtilityClass;
+
+import static nl.rabobank.config.MetricsConfiguration.RESULT_SIZE_SUMMARY;
+
+@UtilityClass
+public class MetricsUtils {
+
+    /**
+     * Registers the summary, keep it instead of calling this per recording.
+     */
+    public static DistributionSummary resultSizeSummary(MeterRegistry meterRegistry, String method) {
+        return DistributionSummary.builder(RESULT_SIZE_SUMMARY)
+                .description("Number of items returned by a service call")
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
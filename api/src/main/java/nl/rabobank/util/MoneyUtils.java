@@ -0,0 +1,19 @@
+package nl.rabobank.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.math.BigDecimal;
+
+@UtilityClass
+public class MoneyUtils {
+
+    public static final int MINOR_UNITS_SCALE = 2;
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.movePointRight(MINOR_UNITS_SCALE).longValueExact();
+    }
+
+    public static BigDecimal toMajorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, MINOR_UNITS_SCALE);
+    }
+}
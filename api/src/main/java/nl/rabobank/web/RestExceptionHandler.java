@@ -1,15 +1,20 @@
 package nl.rabobank.web;
 
 import nl.rabobank.exception.AccountNotFoundException;
+import nl.rabobank.exception.InvalidContinuationTokenException;
+import nl.rabobank.exception.NotAvailableException;
 import nl.rabobank.exception.PowerOfAttorneySecurityException;
 import nl.rabobank.model.ErrorDetails;
 import org.springframework.http.HttpStatus;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
+import jakarta.validation.ConstraintViolationException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -28,11 +33,39 @@ public class RestExceptionHandler {
         return new ErrorDetails(ex.getMessage());
     }
 
+    @ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+    @ExceptionHandler(NotAvailableException.class)
+    public ErrorDetails handleException(NotAvailableException ex) {
+        return new ErrorDetails(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidContinuationTokenException.class)
+    public ErrorDetails handleException(InvalidContinuationTokenException ex) {
+        return new ErrorDetails(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ErrorDetails handleException(ConstraintViolationException ex) {
+        return new ErrorDetails(ex.getMessage());
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public Map<String, String> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        return toErrors(ex.getBindingResult());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(WebExchangeBindException.class)
+    public Map<String, String> handleValidationExceptions(WebExchangeBindException ex) {
+        return toErrors(ex.getBindingResult());
+    }
+
+    private Map<String, String> toErrors(BindingResult bindingResult) {
         Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getAllErrors().forEach((error) -> {
+        bindingResult.getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
             String errorMessage = error.getDefaultMessage();
             errors.put(fieldName, errorMessage);
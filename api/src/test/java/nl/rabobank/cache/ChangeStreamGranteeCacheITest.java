@@ -0,0 +1,141 @@
+package nl.rabobank.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import nl.rabobank.account.Account;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.model.CreatePowerOfAttorneyDto;
+import nl.rabobank.mongo.repository.AccountRepository;
+import nl.rabobank.mongo.repository.GrantRepository;
+import nl.rabobank.service.PowerOfAttorneyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+
+import java.time.Instant;
+import java.util.List;
+
+import static nl.rabobank.mongo.ReadOnlyRoutingMongoDatabaseFactory.SECONDARY_READS;
+import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+import static nl.rabobank.util.AccountTestDataUtils.createAccountEntity;
+import static nl.rabobank.util.AccountUtils.generateAccountNumber;
+import static nl.rabobank.util.PowerOfAttorneyTestDataUtils.createPowerOfAttorneyDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The embedded server has no change streams, the tests open the cache as if the change stream was watched.
+ */
+@SpringBootTest(properties = {"grantee-cache.enabled=true", "grantee-cache.reconnect-delay=PT1H"})
+@DirtiesContext
+@ActiveProfiles(profiles = {MONGO_DATA_PROFILE})
+public class ChangeStreamGranteeCacheITest {
+
+    @Autowired
+    private PowerOfAttorneyService powerOfAttorneyService;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private GrantRepository grantRepository;
+    @Autowired
+    private GranteeCache granteeCache;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long countMongoFinds() {
+        return meterRegistry.find("mongodb.driver.commands").tag("command", "find").timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    @BeforeEach
+    public void before() {
+        ((ChangeStreamGranteeCache) granteeCache).activate();
+    }
+
+    @AfterEach
+    public void after() {
+        ((ChangeStreamGranteeCache) granteeCache).deactivate();
+        accountRepository.deleteAll();
+        grantRepository.deleteAll();
+    }
+
+    @DisplayName("Should serve repeated grantee queries from the cache")
+    @Test
+    public void shouldServeGranteeQueriesFromCache() {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = grant(createPowerOfAttorneyDto(Authorization.READ));
+
+        List<Account> accounts = powerOfAttorneyService.getGrantedAccounts(powerOfAttorneyDto.getGrantee());
+        long findsBefore = countMongoFinds();
+
+        assertEquals(accounts, powerOfAttorneyService.getGrantedAccounts(powerOfAttorneyDto.getGrantee()));
+        assertEquals(1, powerOfAttorneyService.getPowerOfAttorneys(powerOfAttorneyDto.getGrantee()).size());
+        assertEquals(1, powerOfAttorneyService.getPowerOfAttorneys(powerOfAttorneyDto.getGrantee()).size());
+        assertEquals(2, countMongoFinds() - findsBefore);
+    }
+
+    @DisplayName("Should evict cached grantee queries on grant")
+    @Test
+    public void shouldEvictGranteeOnGrant() {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = grant(createPowerOfAttorneyDto(Authorization.READ));
+        assertEquals(1, powerOfAttorneyService.getGrantedAccounts(powerOfAttorneyDto.getGrantee()).size());
+
+        CreatePowerOfAttorneyDto other = createPowerOfAttorneyDto(Authorization.READ);
+        other.setGrantee(powerOfAttorneyDto.getGrantee());
+        other.setAccountNumber(generateAccountNumber());
+        grant(other);
+
+        assertEquals(2, powerOfAttorneyService.getGrantedAccounts(powerOfAttorneyDto.getGrantee()).size());
+    }
+
+    @DisplayName("Should not cache grantee queries with time bounded grants")
+    @Test
+    public void shouldNotCacheTimeBoundedGrants() {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(Authorization.READ);
+        powerOfAttorneyDto.setValidUntil(Instant.now().plusSeconds(3600));
+        grant(powerOfAttorneyDto);
+
+        powerOfAttorneyService.getGrantedAccounts(powerOfAttorneyDto.getGrantee());
+        long findsBefore = countMongoFinds();
+        powerOfAttorneyService.getGrantedAccounts(powerOfAttorneyDto.getGrantee());
+
+        assertTrue(countMongoFinds() > findsBefore);
+    }
+
+    @DisplayName("Should not cache grantee queries read from secondaries")
+    @Test
+    public void shouldNotCacheSecondaryReads() {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = grant(createPowerOfAttorneyDto(Authorization.READ));
+        DefaultTransactionAttribute secondaryReads = new DefaultTransactionAttribute();
+        secondaryReads.setReadOnly(true);
+        secondaryReads.setLabels(List.of(SECONDARY_READS));
+        TransactionStatus status = transactionManager.getTransaction(secondaryReads);
+        try {
+            assertEquals(1, powerOfAttorneyService.getGrantedAccounts(powerOfAttorneyDto.getGrantee()).size());
+        } finally {
+            transactionManager.commit(status);
+        }
+
+        long findsBefore = countMongoFinds();
+        powerOfAttorneyService.getGrantedAccounts(powerOfAttorneyDto.getGrantee());
+
+        assertTrue(countMongoFinds() > findsBefore);
+    }
+
+    private CreatePowerOfAttorneyDto grant(CreatePowerOfAttorneyDto powerOfAttorneyDto) {
+        accountRepository.save(createAccountEntity(powerOfAttorneyDto.getAccountNumber(), powerOfAttorneyDto.getGrantor(), AccountType.PAYMENT, 0));
+        powerOfAttorneyService.grantAccess(powerOfAttorneyDto);
+        return powerOfAttorneyDto;
+    }
+}
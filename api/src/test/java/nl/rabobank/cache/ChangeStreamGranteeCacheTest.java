@@ -0,0 +1,152 @@
+package nl.rabobank.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.client.model.changestream.OperationType;
+import nl.rabobank.mongo.model.AccountEntity;
+import nl.rabobank.mongo.model.GrantEntity;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static nl.rabobank.config.CacheConfiguration.ACCOUNTS_CACHE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+public class ChangeStreamGranteeCacheTest {
+
+    private static final String QUERY = "grantedAccounts";
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(ACCOUNTS_CACHE);
+    private final ChangeStreamGranteeCache granteeCache = new ChangeStreamGranteeCache(mongoTemplate, cacheManager,
+            Caffeine.newBuilder().build(), Duration.ofSeconds(1));
+
+    @BeforeEach
+    public void before() {
+        when(mongoTemplate.getCollectionName(AccountEntity.class)).thenReturn("accounts");
+        when(mongoTemplate.getCollectionName(GrantEntity.class)).thenReturn("grants");
+    }
+
+    @DisplayName("Should not cache while the change stream is not open")
+    @Test
+    public void shouldNotCacheWhileInactive() {
+        granteeCache.put("Grantee", QUERY, List.of(), granteeCache.version());
+
+        assertNull(granteeCache.get("Grantee", QUERY));
+    }
+
+    @DisplayName("Should not cache results loaded before an eviction")
+    @Test
+    public void shouldRejectResultsLoadedBeforeEviction() {
+        granteeCache.activate();
+        long version = granteeCache.version();
+        granteeCache.evict("Other Grantee");
+
+        granteeCache.put("Grantee", QUERY, List.of(), version);
+
+        assertNull(granteeCache.get("Grantee", QUERY));
+    }
+
+    @DisplayName("Should evict the grantee of a changed grant")
+    @Test
+    public void shouldEvictGranteeOnGrantChange() {
+        granteeCache.activate();
+        granteeCache.put("Grantee", QUERY, List.of(), granteeCache.version());
+        granteeCache.put("Other Grantee", QUERY, List.of(), granteeCache.version());
+
+        granteeCache.onChange("grants", OperationType.INSERT, new Document("granteeName", "Grantee"));
+
+        assertNull(granteeCache.get("Grantee", QUERY));
+        assertNotNull(granteeCache.get("Other Grantee", QUERY));
+    }
+
+    @DisplayName("Should evict the account and the grantees of its grants on account change")
+    @Test
+    public void shouldEvictGranteesAndAccountOnAccountChange() {
+        Cache accounts = cacheManager.getCache(ACCOUNTS_CACHE);
+        assertNotNull(accounts);
+        accounts.put("123", "account");
+        accounts.put("456", "other account");
+        granteeCache.activate();
+        granteeCache.put("Grantee", QUERY, List.of(), granteeCache.version());
+        granteeCache.put("Other Grantee", QUERY, List.of(), granteeCache.version());
+
+        when(mongoTemplate.findDistinct(query(where("accountNumber").is("123")), "granteeName", GrantEntity.class, String.class))
+                .thenReturn(List.of("Grantee"));
+
+        granteeCache.onChange("accounts", OperationType.UPDATE, new Document("accountNumber", "123"));
+
+        assertNull(granteeCache.get("Grantee", QUERY));
+        assertNotNull(granteeCache.get("Other Grantee", QUERY));
+        assertNull(accounts.get("123"));
+        assertNotNull(accounts.get("456"));
+    }
+
+    @DisplayName("Should keep caches on expired grant deletes")
+    @Test
+    public void shouldIgnoreGrantDeletes() {
+        Cache accounts = cacheManager.getCache(ACCOUNTS_CACHE);
+        assertNotNull(accounts);
+        accounts.put("123", "account");
+        granteeCache.activate();
+        granteeCache.put("Grantee", QUERY, List.of(), granteeCache.version());
+
+        granteeCache.onChange("grants", OperationType.DELETE, null);
+
+        assertEquals(List.of(), granteeCache.get("Grantee", QUERY));
+        assertNotNull(accounts.get("123"));
+    }
+
+    @DisplayName("Should evict every grantee but no account when grants are dropped")
+    @Test
+    public void shouldEvictAllGranteesOnGrantsDrop() {
+        Cache accounts = cacheManager.getCache(ACCOUNTS_CACHE);
+        assertNotNull(accounts);
+        accounts.put("123", "account");
+        granteeCache.activate();
+        granteeCache.put("Grantee", QUERY, List.of(), granteeCache.version());
+
+        granteeCache.onChange("grants", OperationType.DROP, null);
+
+        assertNull(granteeCache.get("Grantee", QUERY));
+        assertNotNull(accounts.get("123"));
+    }
+
+    @DisplayName("Should evict everything on account delete")
+    @Test
+    public void shouldEvictAllOnAccountDelete() {
+        Cache accounts = cacheManager.getCache(ACCOUNTS_CACHE);
+        assertNotNull(accounts);
+        accounts.put("123", "account");
+        granteeCache.activate();
+        granteeCache.put("Grantee", QUERY, List.of(), granteeCache.version());
+
+        granteeCache.onChange("accounts", OperationType.DELETE, null);
+
+        assertNull(granteeCache.get("Grantee", QUERY));
+        assertNull(accounts.get("123"));
+    }
+
+    @DisplayName("Should keep caches on account creation")
+    @Test
+    public void shouldIgnoreAccountInserts() {
+        granteeCache.activate();
+        granteeCache.put("Grantee", QUERY, List.of(), granteeCache.version());
+
+        granteeCache.onChange("accounts", OperationType.INSERT, new Document("accountNumber", "123"));
+
+        assertEquals(List.of(), granteeCache.get("Grantee", QUERY));
+    }
+}
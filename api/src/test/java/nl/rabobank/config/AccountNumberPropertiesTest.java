@@ -0,0 +1,38 @@
+package nl.rabobank.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AccountNumberPropertiesTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @DisplayName("Should require an explicit node id for the sequence generator")
+    @Test
+    public void shouldRequireNodeIdForSequence() {
+        AccountNumberProperties properties = new AccountNumberProperties();
+        properties.setGenerator(AccountNumberProperties.Strategy.SEQUENCE);
+
+        Set<ConstraintViolation<AccountNumberProperties>> violations = validator.validate(properties);
+
+        assertEquals(1, violations.size());
+        assertEquals("account-number.node-id must be set for the sequence generator", violations.iterator().next().getMessage());
+
+        properties.setNodeId(0);
+        assertTrue(validator.validate(properties).isEmpty());
+    }
+
+    @DisplayName("Should not require a node id for the uuid generator")
+    @Test
+    public void shouldNotRequireNodeIdForUuid() {
+        assertTrue(validator.validate(new AccountNumberProperties()).isEmpty());
+    }
+}
@@ -0,0 +1,36 @@
+package nl.rabobank.config;
+
+import nl.rabobank.cache.GranteeCache;
+import nl.rabobank.controller.AccountController;
+import nl.rabobank.controller.ReactiveAccountController;
+import nl.rabobank.service.AccountServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StartupConfigurationTest {
+
+    private final LazyInitializationExcludeFilter filter = StartupConfiguration.eagerBeansExcludeFilter();
+
+    @DisplayName("Should keep the request path and the migrations eager")
+    @Test
+    public void shouldKeepCriticalBeansEager() {
+        assertTrue(filter.isExcluded("accountController", null, AccountController.class));
+        assertTrue(filter.isExcluded("reactiveAccountController", null, ReactiveAccountController.class));
+        assertTrue(filter.isExcluded("mongoDatabaseFactory", null, MongoDatabaseFactory.class));
+        assertTrue(filter.isExcluded("dataMigrationRunner", null, SmartInitializingSingleton.class));
+    }
+
+    @DisplayName("Should leave other application beans lazy")
+    @Test
+    public void shouldLeaveOtherBeansLazy() {
+        assertFalse(filter.isExcluded("accountServiceImpl", null, AccountServiceImpl.class));
+        assertFalse(filter.isExcluded("granteeCache", null, GranteeCache.class));
+        assertFalse(filter.isExcluded("startupConfiguration", null, StartupConfiguration.class));
+    }
+}
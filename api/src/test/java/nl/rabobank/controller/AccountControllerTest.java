@@ -4,9 +4,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
 import nl.rabobank.account.Account;
 import nl.rabobank.account.AccountType;
+import nl.rabobank.account.PaymentAccount;
 import nl.rabobank.exception.AccountNotFoundException;
+import nl.rabobank.exception.InvalidContinuationTokenException;
+import nl.rabobank.model.AccountSlice;
+import nl.rabobank.model.BatchItemResult;
 import nl.rabobank.model.CreateAccountDto;
 import nl.rabobank.model.ErrorDetails;
+import nl.rabobank.model.Versioned;
 import nl.rabobank.mongo.MongoConfiguration;
 import nl.rabobank.service.AccountService;
 import org.hamcrest.Matchers;
@@ -15,28 +20,40 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 import static nl.rabobank.util.AccountTestDataUtils.createAccountDto;
 import static nl.rabobank.util.AccountTestDataUtils.createAccounts;
 import static nl.rabobank.util.AccountTestDataUtils.toAccount;
+import static nl.rabobank.util.ValidationUtils.DIGITS_VALIDATION_MESSAGE;
 import static nl.rabobank.util.ValidationUtils.NOT_BLANK_VALIDATION_MESSAGE;
 import static nl.rabobank.util.ValidationUtils.NOT_NULL_VALIDATION_MESSAGE;
 import static nl.rabobank.util.ValidationUtils.POSITIVE_OR_ZERO_VALIDATION_MESSAGE;
+import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
@@ -89,7 +106,7 @@ public class AccountControllerTest {
     @EnumSource(value = AccountType.class)
     public void shouldNotCreateAccountAndReturnBadRequestInCaseNegativeBalance(AccountType accountType) {
         CreateAccountDto accountDto = createAccountDto(accountType);
-        accountDto.setInitialBalance(-1.);
+        accountDto.setInitialBalance(BigDecimal.valueOf(-1));
 
         mockMvc.perform(post("/api/v1/accounts").content(objectMapper.writeValueAsBytes(accountDto))
                         .contentType(MediaType.APPLICATION_JSON))
@@ -98,13 +115,41 @@ public class AccountControllerTest {
                 .andDo(print());
     }
 
+    @DisplayName("Should not create account and return BadRequest in case of fractional cents")
+    @SneakyThrows
+    @Test
+    public void shouldNotCreateAccountAndReturnBadRequestInCaseOfFractionalCents() {
+        CreateAccountDto accountDto = createAccountDto(AccountType.PAYMENT);
+        accountDto.setInitialBalance(new BigDecimal("10.005"));
+
+        mockMvc.perform(post("/api/v1/accounts").content(objectMapper.writeValueAsBytes(accountDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.initialBalance", Matchers.is(DIGITS_VALIDATION_MESSAGE)))
+                .andDo(print());
+    }
+
+    @DisplayName("Should write minor units balance as decimal amount")
+    @SneakyThrows
+    @Test
+    public void shouldWriteBalanceAsDecimalAmount() {
+        Account account = new PaymentAccount("0000123456789012345", "John Due", 123_456);
+        Mockito.when(accountService.getVersionedAccount(account.getAccountNumber())).thenReturn(Versioned.of("1", () -> account));
+
+        mockMvc.perform(get("/api/v1/accounts/{accountNumber}", account.getAccountNumber())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"accountNumber\":\"0000123456789012345\",\"accountHolderName\":\"John Due\",\"balance\":1234.56}", true))
+                .andDo(print());
+    }
+
     @DisplayName("Should return Account by accountNumber")
     @SneakyThrows
     @ParameterizedTest(name = "{index} Account Type: {0}")
     @EnumSource(value = AccountType.class)
     public void shouldReturnAccountsByAccountNumber(AccountType type) {
         Account account = toAccount(createAccountDto(type));
-        Mockito.when(accountService.getAccount(account.getAccountNumber())).thenReturn(account);
+        Mockito.when(accountService.getVersionedAccount(account.getAccountNumber())).thenReturn(Versioned.of("1", () -> account));
 
         mockMvc.perform(get("/api/v1/accounts/{accountNumber}", account.getAccountNumber())
                         .contentType(MediaType.APPLICATION_JSON))
@@ -113,12 +158,45 @@ public class AccountControllerTest {
                 .andDo(print());
     }
 
+    @DisplayName("Should return Account with its version as ETag")
+    @SneakyThrows
+    @Test
+    public void shouldReturnAccountVersionAsETag() {
+        Account account = toAccount(createAccountDto(AccountType.PAYMENT));
+        Mockito.when(accountService.getVersionedAccount(account.getAccountNumber())).thenReturn(Versioned.of("3", () -> account));
+
+        mockMvc.perform(get("/api/v1/accounts/{accountNumber}", account.getAccountNumber())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().bytes(objectMapper.writeValueAsBytes(account)))
+                .andDo(print());
+    }
+
+    @DisplayName("Should return NotModified without converting unchanged Account")
+    @SneakyThrows
+    @Test
+    public void shouldReturnNotModifiedForUnchangedAccount() {
+        String accountNumber = "0000123456789012345";
+        Mockito.when(accountService.getVersionedAccount(accountNumber))
+                .thenReturn(Versioned.of("3", () -> fail("Unchanged account must not be converted")));
+
+        mockMvc.perform(get("/api/v1/accounts/{accountNumber}", accountNumber)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""))
+                .andDo(print());
+    }
+
     @DisplayName("Should return NotFound for not existed account")
     @SneakyThrows
     @Test
     public void shouldReturnNotFoundForNotExistedAccount() {
         ErrorDetails error = new ErrorDetails("Missing account");
-        Mockito.when(accountService.getAccount(any())).thenThrow(new AccountNotFoundException(error.getMessage()));
+        Mockito.when(accountService.getVersionedAccount(any())).thenThrow(new AccountNotFoundException(error.getMessage()));
 
         mockMvc.perform(get("/api/v1/accounts/{accountNumber}", "fake accountNumber")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -140,4 +218,97 @@ public class AccountControllerTest {
                 .andExpect(content().bytes(objectMapper.writeValueAsBytes(accounts)))
                 .andDo(print());
     }
+
+    @DisplayName("Should return slice of Accounts")
+    @SneakyThrows
+    @Test
+    public void shouldReturnAccountSlice() {
+        AccountSlice slice = new AccountSlice(createAccounts(), "AAAAAAAAAAAAAAAA");
+        Mockito.when(accountService.getAccounts("token", 5)).thenReturn(slice);
+
+        mockMvc.perform(get("/api/v1/accounts/slice")
+                        .param("continuationToken", "token")
+                        .param("size", "5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(objectMapper.writeValueAsBytes(slice)))
+                .andDo(print());
+    }
+
+    @DisplayName("Should return BadRequest for invalid continuation token")
+    @SneakyThrows
+    @Test
+    public void shouldReturnBadRequestForInvalidContinuationToken() {
+        ErrorDetails error = new ErrorDetails("Invalid continuation token: fake");
+        Mockito.when(accountService.getAccounts(eq("fake"), anyInt())).thenThrow(new InvalidContinuationTokenException(error.getMessage()));
+
+        mockMvc.perform(get("/api/v1/accounts/slice")
+                        .param("continuationToken", "fake")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().bytes(objectMapper.writeValueAsBytes(error)))
+                .andDo(print());
+    }
+
+    @DisplayName("Should return BadRequest for slice size out of range")
+    @SneakyThrows
+    @ParameterizedTest(name = "{index} Size: {0}")
+    @ValueSource(ints = {0, 2001})
+    public void shouldReturnBadRequestForSliceSizeOutOfRange(int size) {
+        mockMvc.perform(get("/api/v1/accounts/slice")
+                        .param("size", String.valueOf(size))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @DisplayName("Should export Accounts as newline delimited JSON")
+    @SneakyThrows
+    @Test
+    public void shouldExportAccounts() {
+        List<Account> accounts = createAccounts();
+        Mockito.when(accountService.exportAccounts()).thenReturn(accounts.stream());
+        StringBuilder expected = new StringBuilder();
+        for (Account account : accounts) {
+            expected.append(objectMapper.writeValueAsString(account)).append('\n');
+        }
+
+        MvcResult result = mockMvc.perform(get("/api/v1/accounts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(expected.toString()))
+                .andDo(print());
+    }
+
+    @DisplayName("Should create Accounts in batch")
+    @SneakyThrows
+    @Test
+    public void shouldCreateAccountsInBatch() {
+        List<CreateAccountDto> accountDtos = List.of(createAccountDto(AccountType.PAYMENT), new CreateAccountDto());
+        List<BatchItemResult<Account>> results = List.of(
+                BatchItemResult.success(0, toAccount(accountDtos.get(0))),
+                BatchItemResult.failure(1, Map.of("type", NOT_NULL_VALIDATION_MESSAGE))
+        );
+        Mockito.when(accountService.createAccounts(accountDtos)).thenReturn(results);
+
+        mockMvc.perform(post("/api/v1/accounts/batch").content(objectMapper.writeValueAsBytes(accountDtos))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(objectMapper.writeValueAsBytes(results)))
+                .andDo(print());
+    }
+
+    @DisplayName("Should return BadRequest for empty batch")
+    @SneakyThrows
+    @Test
+    public void shouldReturnBadRequestForEmptyBatch() {
+        mockMvc.perform(post("/api/v1/accounts/batch").content(objectMapper.writeValueAsBytes(List.of()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
 }
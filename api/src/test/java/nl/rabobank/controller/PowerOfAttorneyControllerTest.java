@@ -8,8 +8,10 @@ import nl.rabobank.authorizations.Authorization;
 import nl.rabobank.authorizations.PowerOfAttorney;
 import nl.rabobank.exception.AccountNotFoundException;
 import nl.rabobank.exception.PowerOfAttorneySecurityException;
+import nl.rabobank.model.BatchItemResult;
 import nl.rabobank.model.CreatePowerOfAttorneyDto;
 import nl.rabobank.model.ErrorDetails;
+import nl.rabobank.model.Versioned;
 import nl.rabobank.service.PowerOfAttorneyService;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
@@ -22,22 +24,28 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import static nl.rabobank.util.AccountTestDataUtils.createAccounts;
 import static nl.rabobank.util.PowerOfAttorneyTestDataUtils.createPowerOfAttorneyDto;
 import static nl.rabobank.util.PowerOfAttorneyTestDataUtils.createPowerOfAttorneys;
 import static nl.rabobank.util.PowerOfAttorneyTestDataUtils.toPowerOfAttorney;
+import static nl.rabobank.util.ValidationUtils.FUTURE_VALIDATION_MESSAGE;
 import static nl.rabobank.util.ValidationUtils.NOT_BLANK_VALIDATION_MESSAGE;
 import static nl.rabobank.util.ValidationUtils.NOT_NULL_VALIDATION_MESSAGE;
+import static org.junit.jupiter.api.Assertions.fail;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -82,6 +90,20 @@ public class PowerOfAttorneyControllerTest {
                 .andDo(print());
     }
 
+    @DisplayName("Should not create Power Of Attorney and return BadRequest in case of validity in the past")
+    @SneakyThrows
+    @Test
+    public void shouldNotCreatePowerOfAttorneyAndReturnBadRequestInCaseOfPastValidUntil() {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(Authorization.READ);
+        powerOfAttorneyDto.setValidUntil(Instant.now().minusSeconds(60));
+
+        mockMvc.perform(post("/api/v1/power-of-attorneys").content(objectMapper.writeValueAsBytes(powerOfAttorneyDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validUntil", Matchers.is(FUTURE_VALIDATION_MESSAGE)))
+                .andDo(print());
+    }
+
     @DisplayName("Should not create Power Of Attorney and return NotFound in case of missing account")
     @SneakyThrows
     @ParameterizedTest(name = "{index} Authorization: {0}")
@@ -120,7 +142,7 @@ public class PowerOfAttorneyControllerTest {
     public void shouldReturnGrantedAccounts() {
         String granteeName = "Grantee";
         List<Account> accounts = createAccounts(granteeName);
-        Mockito.when(powerOfAttorneyService.getGrantedAccounts(granteeName)).thenReturn(accounts);
+        Mockito.when(powerOfAttorneyService.getVersionedGrantedAccounts(granteeName)).thenReturn(Versioned.of("1", () -> accounts));
 
         mockMvc.perform(get("/api/v1/power-of-attorneys/{granteeName}/accounts", granteeName)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -136,7 +158,7 @@ public class PowerOfAttorneyControllerTest {
     public void shouldReturnGrantedAccountsByAuthorization(Authorization authorization) {
         String granteeName = "Grantee";
         List<Account> accounts = createAccounts(granteeName);
-        Mockito.when(powerOfAttorneyService.getGrantedAccounts(granteeName, authorization)).thenReturn(accounts);
+        Mockito.when(powerOfAttorneyService.getVersionedGrantedAccounts(granteeName, authorization)).thenReturn(Versioned.of("1", () -> accounts));
 
         mockMvc.perform(get("/api/v1/power-of-attorneys/{granteeName}/accounts/{authorization}", granteeName, authorization)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -151,7 +173,7 @@ public class PowerOfAttorneyControllerTest {
     public void shouldReturnPowerOfAttorneys() {
         String granteeName = "Grantee";
         List<PowerOfAttorney> powerOfAttorneys = createPowerOfAttorneys(granteeName);
-        Mockito.when(powerOfAttorneyService.getPowerOfAttorneys(granteeName)).thenReturn(powerOfAttorneys);
+        Mockito.when(powerOfAttorneyService.getVersionedPowerOfAttorneys(granteeName)).thenReturn(Versioned.of("1", () -> powerOfAttorneys));
 
         mockMvc.perform(get("/api/v1/power-of-attorneys/{granteeName}", granteeName)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -159,4 +181,49 @@ public class PowerOfAttorneyControllerTest {
                 .andExpect(content().bytes(objectMapper.writeValueAsBytes(powerOfAttorneys)))
                 .andDo(print());
     }
+
+    @DisplayName("Should return NotModified without converting unchanged Power Of Attorneys")
+    @SneakyThrows
+    @Test
+    public void shouldReturnNotModifiedForUnchangedPowerOfAttorneys() {
+        String granteeName = "Grantee";
+        Mockito.when(powerOfAttorneyService.getVersionedPowerOfAttorneys(granteeName))
+                .thenReturn(Versioned.of("1f3c", () -> fail("Unchanged Power Of Attorneys must not be converted")));
+
+        mockMvc.perform(get("/api/v1/power-of-attorneys/{granteeName}", granteeName)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1f3c\"")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1f3c\""))
+                .andExpect(content().string(""))
+                .andDo(print());
+    }
+
+    @DisplayName("Should grant access to accounts in batch")
+    @SneakyThrows
+    @Test
+    public void shouldGrantAccessesInBatch() {
+        List<CreatePowerOfAttorneyDto> powerOfAttorneyDtos = List.of(createPowerOfAttorneyDto(Authorization.READ), createPowerOfAttorneyDto(Authorization.WRITE));
+        List<BatchItemResult<PowerOfAttorney>> results = List.of(
+                BatchItemResult.success(0, toPowerOfAttorney(powerOfAttorneyDtos.get(0), AccountType.PAYMENT)),
+                BatchItemResult.failure(1, Map.of("grantor", "Grantor can give access only for own account"))
+        );
+        Mockito.when(powerOfAttorneyService.grantAccesses(powerOfAttorneyDtos)).thenReturn(results);
+
+        mockMvc.perform(post("/api/v1/power-of-attorneys/batch").content(objectMapper.writeValueAsBytes(powerOfAttorneyDtos))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(objectMapper.writeValueAsBytes(results)))
+                .andDo(print());
+    }
+
+    @DisplayName("Should return BadRequest for empty batch")
+    @SneakyThrows
+    @Test
+    public void shouldReturnBadRequestForEmptyBatch() {
+        mockMvc.perform(post("/api/v1/power-of-attorneys/batch").content(objectMapper.writeValueAsBytes(List.of()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
 }
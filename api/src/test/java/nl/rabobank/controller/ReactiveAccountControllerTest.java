@@ -0,0 +1,161 @@
+package nl.rabobank.controller;
+
+import nl.rabobank.account.Account;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.exception.AccountNotFoundException;
+import nl.rabobank.model.CreateAccountDto;
+import nl.rabobank.model.ErrorDetails;
+import nl.rabobank.service.ReactiveAccountService;
+import nl.rabobank.util.MoneyUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
+import static nl.rabobank.util.AccountTestDataUtils.createAccountDto;
+import static nl.rabobank.util.AccountTestDataUtils.createAccounts;
+import static nl.rabobank.util.AccountTestDataUtils.toAccount;
+import static nl.rabobank.util.ValidationUtils.NOT_BLANK_VALIDATION_MESSAGE;
+import static nl.rabobank.util.ValidationUtils.NOT_NULL_VALIDATION_MESSAGE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+@WebFluxTest(value = ReactiveAccountController.class)
+@ActiveProfiles(profiles = {REACTIVE_PROFILE})
+public class ReactiveAccountControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @MockBean
+    private ReactiveAccountService accountService;
+
+    @DisplayName("Should create Payment and Savings accounts")
+    @ParameterizedTest(name = "{index} Created Account Type: {0}")
+    @EnumSource(value = AccountType.class)
+    public void shouldCreateAccounts(AccountType type) {
+        CreateAccountDto accountDto = createAccountDto(type);
+        Account account = toAccount(accountDto);
+        Mockito.when(accountService.createAccount(accountDto)).thenReturn(Mono.just(account));
+
+        webTestClient.post().uri("/api/v1/accounts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(accountDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.accountNumber").isEqualTo(account.getAccountNumber())
+                .jsonPath("$.accountHolderName").isEqualTo(account.getAccountHolderName())
+                .jsonPath("$.balance").isEqualTo(MoneyUtils.toMajorUnits(account.getBalance()).doubleValue());
+    }
+
+    @DisplayName("Should not create account and return BadRequest in case of missing all account attributes")
+    @Test
+    public void shouldNotCreateAccountAndReturnBadRequestInCaseOfMissingAccountAttributes() {
+        webTestClient.post().uri("/api/v1/accounts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CreateAccountDto())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.type").isEqualTo(NOT_NULL_VALIDATION_MESSAGE)
+                .jsonPath("$.initialBalance").isEqualTo(NOT_NULL_VALIDATION_MESSAGE)
+                .jsonPath("$.accountHolderName").isEqualTo(NOT_BLANK_VALIDATION_MESSAGE);
+    }
+
+    @DisplayName("Should return Account by accountNumber")
+    @ParameterizedTest(name = "{index} Account Type: {0}")
+    @EnumSource(value = AccountType.class)
+    public void shouldReturnAccountsByAccountNumber(AccountType type) {
+        Account account = toAccount(createAccountDto(type));
+        Mockito.when(accountService.getAccount(account.getAccountNumber())).thenReturn(Mono.just(account));
+
+        webTestClient.get().uri("/api/v1/accounts/{accountNumber}", account.getAccountNumber())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.accountNumber").isEqualTo(account.getAccountNumber())
+                .jsonPath("$.accountHolderName").isEqualTo(account.getAccountHolderName())
+                .jsonPath("$.balance").isEqualTo(MoneyUtils.toMajorUnits(account.getBalance()).doubleValue());
+    }
+
+    @DisplayName("Should return NotFound for not existed account")
+    @Test
+    public void shouldReturnNotFoundForNotExistedAccount() {
+        ErrorDetails error = new ErrorDetails("Missing account");
+        Mockito.when(accountService.getAccount(any())).thenReturn(Mono.error(new AccountNotFoundException(error.getMessage())));
+
+        webTestClient.get().uri("/api/v1/accounts/{accountNumber}", "fake accountNumber")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(error.getMessage());
+    }
+
+    @DisplayName("Should reject slices and batches instead of matching them as account numbers")
+    @Test
+    public void shouldRejectSlicesAndBatches() {
+        webTestClient.get().uri("/api/v1/accounts/slice")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_IMPLEMENTED)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Not available with the reactive profile");
+        webTestClient.post().uri("/api/v1/accounts/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(createAccountDto(AccountType.PAYMENT)))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_IMPLEMENTED);
+
+        Mockito.verifyNoInteractions(accountService);
+    }
+
+    @DisplayName("Should return Accounts page")
+    @Test
+    public void shouldReturnAccounts() {
+        List<Account> accounts = createAccounts();
+        Mockito.when(accountService.getAccounts(PageRequest.of(1, 5))).thenReturn(Flux.fromIterable(accounts));
+
+        webTestClient.get().uri("/api/v1/accounts?page=1&size=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(accounts.size())
+                .jsonPath("$[0].accountNumber").isEqualTo(accounts.get(0).getAccountNumber());
+    }
+
+    @DisplayName("Should export Accounts as newline delimited JSON")
+    @Test
+    public void shouldExportAccounts() {
+        List<Account> accounts = createAccounts();
+        Mockito.when(accountService.exportAccounts()).thenReturn(Flux.fromIterable(accounts));
+
+        String body = webTestClient.get().uri("/api/v1/accounts/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(body);
+        String[] lines = body.split("\n");
+        assertEquals(accounts.size(), lines.length);
+        assertTrue(lines[0].contains(accounts.get(0).getAccountNumber()));
+    }
+}
@@ -0,0 +1,160 @@
+package nl.rabobank.controller;
+
+import nl.rabobank.account.Account;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.authorizations.PowerOfAttorney;
+import nl.rabobank.exception.AccountNotFoundException;
+import nl.rabobank.exception.PowerOfAttorneySecurityException;
+import nl.rabobank.model.CreatePowerOfAttorneyDto;
+import nl.rabobank.model.ErrorDetails;
+import nl.rabobank.service.ReactivePowerOfAttorneyService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
+import static nl.rabobank.util.AccountTestDataUtils.createAccounts;
+import static nl.rabobank.util.PowerOfAttorneyTestDataUtils.createPowerOfAttorneyDto;
+import static nl.rabobank.util.PowerOfAttorneyTestDataUtils.createPowerOfAttorneys;
+import static nl.rabobank.util.PowerOfAttorneyTestDataUtils.toPowerOfAttorney;
+import static nl.rabobank.util.ValidationUtils.NOT_BLANK_VALIDATION_MESSAGE;
+import static nl.rabobank.util.ValidationUtils.NOT_NULL_VALIDATION_MESSAGE;
+
+@WebFluxTest(value = ReactivePowerOfAttorneyController.class)
+@ActiveProfiles(profiles = {REACTIVE_PROFILE})
+public class ReactivePowerOfAttorneyControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @MockBean
+    private ReactivePowerOfAttorneyService powerOfAttorneyService;
+
+    @DisplayName("Should create Power Of Attorney for Saving and Payment Account")
+    @ParameterizedTest(name = "{index} Authorization: {0} granted to Account Type: {1}")
+    @MethodSource("nl.rabobank.util.PowerOfAttorneyTestDataUtils#source")
+    public void shouldCreatePowerOfAttorneyForAccount(Authorization authorization, AccountType accountType) {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(authorization);
+        PowerOfAttorney powerOfAttorney = toPowerOfAttorney(powerOfAttorneyDto, accountType);
+        Mockito.when(powerOfAttorneyService.grantAccess(powerOfAttorneyDto)).thenReturn(Mono.just(powerOfAttorney));
+
+        webTestClient.post().uri("/api/v1/power-of-attorneys")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(powerOfAttorneyDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.granteeName").isEqualTo(powerOfAttorney.getGranteeName())
+                .jsonPath("$.grantorName").isEqualTo(powerOfAttorney.getGrantorName())
+                .jsonPath("$.authorization").isEqualTo(authorization.name())
+                .jsonPath("$.account.accountNumber").isEqualTo(powerOfAttorneyDto.getAccountNumber());
+    }
+
+    @DisplayName("Should not create Power Of Attorney and return BadRequest in case of missing attributes")
+    @Test
+    public void shouldNotCreatePowerOfAttorneyAndReturnBadRequestInCaseOfMissingAttributes() {
+        webTestClient.post().uri("/api/v1/power-of-attorneys")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CreatePowerOfAttorneyDto())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.accountNumber").isEqualTo(NOT_BLANK_VALIDATION_MESSAGE)
+                .jsonPath("$.grantor").isEqualTo(NOT_BLANK_VALIDATION_MESSAGE)
+                .jsonPath("$.grantee").isEqualTo(NOT_BLANK_VALIDATION_MESSAGE)
+                .jsonPath("$.authorization").isEqualTo(NOT_NULL_VALIDATION_MESSAGE);
+    }
+
+    @DisplayName("Should not create Power Of Attorney and return NotFound in case of missing account")
+    @ParameterizedTest(name = "{index} Authorization: {0}")
+    @EnumSource(value = Authorization.class)
+    public void shouldNotCreatePowerOfAttorneyAndReturnNotFoundInCaseOfMissingAccount(Authorization authorization) {
+        ErrorDetails error = new ErrorDetails("Cannot find account");
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(authorization);
+        Mockito.when(powerOfAttorneyService.grantAccess(powerOfAttorneyDto)).thenReturn(Mono.error(new AccountNotFoundException(error.getMessage())));
+
+        webTestClient.post().uri("/api/v1/power-of-attorneys")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(powerOfAttorneyDto)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(error.getMessage());
+    }
+
+    @DisplayName("Should not create Power Of Attorney and return Unauthorized in case of granting not own account")
+    @ParameterizedTest(name = "{index} Authorization: {0}")
+    @EnumSource(value = Authorization.class)
+    public void shouldNotCreatePowerOfAttorneyAndReturnUnauthorizedInCaseOfGrantingNotOwnAccount(Authorization authorization) {
+        ErrorDetails error = new ErrorDetails("Grantor can give access only for own account");
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(authorization);
+        Mockito.when(powerOfAttorneyService.grantAccess(powerOfAttorneyDto)).thenReturn(Mono.error(new PowerOfAttorneySecurityException(error.getMessage())));
+
+        webTestClient.post().uri("/api/v1/power-of-attorneys")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(powerOfAttorneyDto)
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(error.getMessage());
+    }
+
+    @DisplayName("Should reject batches")
+    @Test
+    public void shouldRejectBatches() {
+        webTestClient.post().uri("/api/v1/power-of-attorneys/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(createPowerOfAttorneyDto(Authorization.READ)))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_IMPLEMENTED)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Not available with the reactive profile");
+
+        Mockito.verifyNoInteractions(powerOfAttorneyService);
+    }
+
+    @DisplayName("Should return Granted Accounts by Grantee and Authorization")
+    @ParameterizedTest(name = "{index} Authorization: {0}")
+    @EnumSource(value = Authorization.class)
+    public void shouldReturnGrantedAccountsByAuthorization(Authorization authorization) {
+        String granteeName = "Grantee";
+        List<Account> accounts = createAccounts(granteeName);
+        Mockito.when(powerOfAttorneyService.getGrantedAccounts(granteeName, authorization)).thenReturn(Flux.fromIterable(accounts));
+
+        webTestClient.get().uri("/api/v1/power-of-attorneys/{granteeName}/accounts/{authorization}", granteeName, authorization)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(accounts.size())
+                .jsonPath("$[1].accountNumber").isEqualTo(accounts.get(1).getAccountNumber());
+    }
+
+    @DisplayName("Should return Power Of Attorneys by Grantee")
+    @Test
+    public void shouldReturnPowerOfAttorneys() {
+        String granteeName = "Grantee";
+        List<PowerOfAttorney> powerOfAttorneys = createPowerOfAttorneys(granteeName);
+        Mockito.when(powerOfAttorneyService.getPowerOfAttorneys(granteeName)).thenReturn(Flux.fromIterable(powerOfAttorneys));
+
+        webTestClient.get().uri("/api/v1/power-of-attorneys/{granteeName}", granteeName)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(powerOfAttorneys.size())
+                .jsonPath("$[0].granteeName").isEqualTo(granteeName);
+    }
+}
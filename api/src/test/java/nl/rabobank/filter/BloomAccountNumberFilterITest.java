@@ -0,0 +1,170 @@
+package nl.rabobank.filter;
+
+import lombok.SneakyThrows;
+import nl.rabobank.account.Account;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.authorizations.PowerOfAttorney;
+import nl.rabobank.exception.AccountNotFoundException;
+import nl.rabobank.model.BatchItemResult;
+import nl.rabobank.model.CreatePowerOfAttorneyDto;
+import nl.rabobank.mongo.repository.AccountRepository;
+import nl.rabobank.service.AccountService;
+import nl.rabobank.service.PowerOfAttorneyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+import static nl.rabobank.util.AccountTestDataUtils.createAccountDto;
+import static nl.rabobank.util.AccountTestDataUtils.createAccountEntity;
+import static nl.rabobank.util.AccountUtils.generateAccountNumber;
+import static nl.rabobank.util.PowerOfAttorneyTestDataUtils.createPowerOfAttorneyDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The embedded server has no change streams, the tests rebuild the filter as if the change stream was opened.
+ */
+@SpringBootTest(properties = {"account-filter.enabled=true", "account-filter.reconnect-delay=PT1H"})
+@DirtiesContext
+@ActiveProfiles(profiles = {MONGO_DATA_PROFILE})
+public class BloomAccountNumberFilterITest {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private PowerOfAttorneyService powerOfAttorneyService;
+
+    @Autowired
+    private BloomAccountNumberFilter accountNumberFilter;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void before() {
+        accountNumberFilter.activate();
+    }
+
+    @AfterEach
+    public void after() {
+        accountRepository.deleteAll();
+    }
+
+    @DisplayName("Should find created accounts and reject unknown account numbers")
+    @Test
+    public void shouldRejectUnknownAccountNumbers() {
+        Account account = accountService.createAccount(createAccountDto(AccountType.PAYMENT));
+        String unknownAccountNumber = generateAccountNumber();
+
+        assertEquals(account, accountService.getAccount(account.getAccountNumber()));
+        AccountNotFoundException thrown = Assertions.assertThrows(AccountNotFoundException.class, () ->
+                accountService.getAccount(unknownAccountNumber)
+        );
+        assertEquals("Cannot find account by account number: " + unknownAccountNumber, thrown.getMessage());
+        assertEquals(0, thrown.getStackTrace().length);
+    }
+
+    @DisplayName("Should pick up accounts saved while the change stream was closed when it reopens")
+    @Test
+    public void shouldPickUpAccountsOnReopen() {
+        String accountNumber = generateAccountNumber();
+        accountRepository.save(createAccountEntity(accountNumber, AccountType.SAVINGS));
+
+        accountNumberFilter.activate();
+        accountRepository.deleteAll();
+
+        assertTrue(accountNumberFilter.mightExist(accountNumber));
+    }
+
+    @DisplayName("Should pick up accounts inserted by other instances from the change stream")
+    @Test
+    public void shouldPickUpInsertedAccounts() {
+        String accountNumber = generateAccountNumber();
+
+        accountNumberFilter.onInsert(accountNumber);
+
+        assertTrue(accountNumberFilter.mightExist(accountNumber));
+    }
+
+    @DisplayName("Should find accounts inserted by other instances before the change stream delivers them")
+    @Test
+    public void shouldFindAccountsInsertedElsewhere() {
+        String accountNumber = generateAccountNumber();
+        accountRepository.save(createAccountEntity(accountNumber, AccountType.SAVINGS));
+
+        assertEquals(accountNumber, accountService.getAccount(accountNumber).getAccountNumber());
+        accountRepository.deleteAll();
+        assertTrue(accountNumberFilter.mightExist(accountNumber));
+        assertFalse(accountNumberFilter.mightExist(generateAccountNumber()));
+    }
+
+    @DisplayName("Should trust misses without a change stream on a single instance")
+    @SneakyThrows
+    @Test
+    public void shouldTrustMissesOnSingleInstance() {
+        String accountNumber = generateAccountNumber();
+        accountRepository.save(createAccountEntity(accountNumber, AccountType.SAVINGS));
+        BloomAccountNumberFilter singleInstanceFilter = new BloomAccountNumberFilter(accountRepository, mongoTemplate, 1_000, 0.01,
+                Duration.ofMillis(10), true);
+        singleInstanceFilter.start();
+        try {
+            String unknownAccountNumber = generateAccountNumber();
+            waitUntilBuilt(singleInstanceFilter, unknownAccountNumber);
+            accountRepository.save(createAccountEntity(unknownAccountNumber, AccountType.SAVINGS));
+
+            assertTrue(singleInstanceFilter.mightExist(accountNumber));
+            assertFalse(singleInstanceFilter.mightExist(unknownAccountNumber));
+            singleInstanceFilter.add(unknownAccountNumber);
+            assertTrue(singleInstanceFilter.mightExist(unknownAccountNumber));
+        } finally {
+            singleInstanceFilter.close();
+        }
+    }
+
+    @DisplayName("Should add accounts created in batch")
+    @Test
+    public void shouldAddAccountsCreatedInBatch() {
+        List<BatchItemResult<Account>> results = accountService.createAccounts(List.of(createAccountDto(AccountType.PAYMENT), createAccountDto(AccountType.SAVINGS)));
+
+        results.forEach(result -> assertTrue(accountNumberFilter.mightExist(result.getResult().getAccountNumber())));
+    }
+
+    @DisplayName("Should reject grants to unknown account numbers")
+    @Test
+    public void shouldRejectGrantsToUnknownAccountNumbers() {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(Authorization.READ);
+
+        AccountNotFoundException thrown = Assertions.assertThrows(AccountNotFoundException.class, () ->
+                powerOfAttorneyService.grantAccess(powerOfAttorneyDto)
+        );
+        assertEquals("Cannot find account by account number: " + powerOfAttorneyDto.getAccountNumber(), thrown.getMessage());
+        List<BatchItemResult<PowerOfAttorney>> results = powerOfAttorneyService.grantAccesses(List.of(powerOfAttorneyDto));
+        assertEquals(Map.of("accountNumber", thrown.getMessage()), results.get(0).getErrors());
+    }
+
+    private static void waitUntilBuilt(BloomAccountNumberFilter filter, String unknownAccountNumber) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (filter.mightExist(unknownAccountNumber) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
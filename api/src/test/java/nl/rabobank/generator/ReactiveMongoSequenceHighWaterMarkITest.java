@@ -0,0 +1,43 @@
+package nl.rabobank.generator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@DirtiesContext
+@ActiveProfiles(profiles = {MONGO_DATA_PROFILE, REACTIVE_PROFILE})
+public class ReactiveMongoSequenceHighWaterMarkITest {
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @AfterEach
+    public void after() {
+        reactiveMongoTemplate.dropCollection(MongoSequenceHighWaterMark.COLLECTION).block();
+    }
+
+    @DisplayName("Should keep the highest reserved timestamp per node")
+    @Test
+    public void shouldKeepHighestReservedTimestamp() {
+        ReactiveMongoSequenceHighWaterMark highWaterMark = new ReactiveMongoSequenceHighWaterMark(reactiveMongoTemplate);
+
+        assertEquals(0, highWaterMark.get(7));
+
+        highWaterMark.reserve(7, 2_000);
+        highWaterMark.reserve(7, 1_000);
+        highWaterMark.reserve(8, 500);
+
+        assertEquals(2_000, highWaterMark.get(7));
+        assertEquals(500, highWaterMark.get(8));
+    }
+}
@@ -0,0 +1,118 @@
+package nl.rabobank.generator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static nl.rabobank.generator.SequenceAccountNumberGenerator.EPOCH;
+import static nl.rabobank.generator.SequenceAccountNumberGenerator.NODE_BITS;
+import static nl.rabobank.generator.SequenceAccountNumberGenerator.RESERVE_AHEAD_MILLIS;
+import static nl.rabobank.generator.SequenceAccountNumberGenerator.SEQUENCE_BITS;
+import static nl.rabobank.generator.SequenceAccountNumberGenerator.SEQUENCE_MASK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+public class SequenceAccountNumberGeneratorTest {
+
+    private static final Clock FIXED_CLOCK = Clock.fixed(Instant.parse("2021-06-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private final SequenceHighWaterMark highWaterMark = mock(SequenceHighWaterMark.class);
+
+    @DisplayName("Should generate fixed width account numbers containing timestamp and node id")
+    @Test
+    public void shouldGenerateFixedWidthAccountNumbers() {
+        SequenceAccountNumberGenerator generator = new SequenceAccountNumberGenerator(5, FIXED_CLOCK, highWaterMark);
+
+        String accountNumber = generator.generate();
+
+        assertEquals(19, accountNumber.length());
+        long id = Long.parseLong(accountNumber);
+        assertEquals(FIXED_CLOCK.millis() - EPOCH, id >>> (NODE_BITS + SEQUENCE_BITS));
+        assertEquals(5, (id >>> SEQUENCE_BITS) & ((1L << NODE_BITS) - 1));
+    }
+
+    @DisplayName("Should keep account numbers increasing when sequence of a millisecond is exhausted")
+    @Test
+    public void shouldBorrowNextMillisecondWhenSequenceIsExhausted() {
+        SequenceAccountNumberGenerator generator = new SequenceAccountNumberGenerator(0, FIXED_CLOCK, highWaterMark);
+
+        List<String> accountNumbers = IntStream.range(0, (int) SEQUENCE_MASK + 10)
+                .mapToObj(i -> generator.generate())
+                .collect(Collectors.toList());
+
+        assertEquals(accountNumbers.stream().sorted().collect(Collectors.toList()), accountNumbers);
+        assertEquals(accountNumbers.size(), Set.copyOf(accountNumbers).size());
+        long last = Long.parseLong(accountNumbers.get(accountNumbers.size() - 1));
+        assertEquals(FIXED_CLOCK.millis() - EPOCH + 1, last >>> (NODE_BITS + SEQUENCE_BITS));
+    }
+
+    @DisplayName("Should generate unique account numbers concurrently")
+    @Test
+    public void shouldGenerateUniqueAccountNumbersConcurrently() throws Exception {
+        SequenceAccountNumberGenerator generator = new SequenceAccountNumberGenerator(1, Clock.systemUTC(), highWaterMark);
+        Set<String> accountNumbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = IntStream.range(0, 8)
+                    .mapToObj(i -> executor.submit(() -> IntStream.range(0, 10_000).forEach(j -> accountNumbers.add(generator.generate()))))
+                    .collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(80_000, accountNumbers.size());
+    }
+
+    @DisplayName("Should reserve timestamps ahead before issuing account numbers")
+    @Test
+    public void shouldReserveTimestampsAhead() {
+        SequenceAccountNumberGenerator generator = new SequenceAccountNumberGenerator(3, FIXED_CLOCK, highWaterMark);
+
+        generator.generate();
+        generator.generate();
+
+        verify(highWaterMark).get(3);
+        verify(highWaterMark).reserve(3, FIXED_CLOCK.millis() + RESERVE_AHEAD_MILLIS);
+        verifyNoMoreInteractions(highWaterMark);
+    }
+
+    @DisplayName("Should continue after the reserved timestamp when the clock was set back")
+    @Test
+    public void shouldContinueAfterHighWaterMarkWhenClockIsBehind() {
+        long reservedUntil = FIXED_CLOCK.millis() + 5_000;
+        when(highWaterMark.get(3)).thenReturn(reservedUntil);
+        SequenceAccountNumberGenerator generator = new SequenceAccountNumberGenerator(3, FIXED_CLOCK, highWaterMark);
+
+        long id = Long.parseLong(generator.generate());
+
+        assertEquals(reservedUntil - EPOCH + 1, id >>> (NODE_BITS + SEQUENCE_BITS));
+        assertEquals(0, id & SEQUENCE_MASK);
+        verify(highWaterMark).reserve(3, reservedUntil + 1 + RESERVE_AHEAD_MILLIS);
+    }
+
+    @DisplayName("Should reject node id out of range")
+    @Test
+    public void shouldRejectNodeIdOutOfRange() {
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> new SequenceAccountNumberGenerator(1024, FIXED_CLOCK, highWaterMark));
+        assertTrue(thrown.getMessage().startsWith("Node id must be between 0 and 1023"));
+    }
+}
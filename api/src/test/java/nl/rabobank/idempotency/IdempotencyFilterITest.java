@@ -0,0 +1,117 @@
+package nl.rabobank.idempotency;
+
+import lombok.SneakyThrows;
+import nl.rabobank.mongo.model.IdempotencyRecordEntity;
+import nl.rabobank.mongo.repository.AccountRepository;
+import nl.rabobank.mongo.repository.IdempotencyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.UUID;
+
+import static nl.rabobank.idempotency.IdempotencyFilter.IDEMPOTENCY_KEY_HEADER;
+import static nl.rabobank.idempotency.IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER;
+import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+@ActiveProfiles(profiles = {MONGO_DATA_PROFILE})
+public class IdempotencyFilterITest {
+
+    private static final String ACCOUNT = "{\"accountHolderName\":\"John Due\",\"initialBalance\":100,\"type\":\"PAYMENT\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private IdempotencyRepository idempotencyRepository;
+
+    @AfterEach
+    public void after() {
+        accountRepository.deleteAll();
+        idempotencyRepository.deleteAll();
+    }
+
+    @DisplayName("Should replay the stored response for a repeated Idempotency-Key without creating another account")
+    @SneakyThrows
+    @Test
+    public void shouldReplayResponse() {
+        String key = UUID.randomUUID().toString();
+
+        MvcResult created = mockMvc.perform(createAccount(key, ACCOUNT))
+                .andExpect(status().isCreated())
+                .andReturn();
+        mockMvc.perform(createAccount(key, ACCOUNT))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IDEMPOTENT_REPLAYED_HEADER, "true"))
+                .andExpect(content().string(created.getResponse().getContentAsString()));
+
+        assertEquals(1, accountRepository.count());
+        IdempotencyRecordEntity record = idempotencyRepository.findAll().get(0);
+        assertTrue(record.isCompleted());
+        assertEquals(created.getResponse().getContentAsString(), new String(record.getBody()));
+    }
+
+    @DisplayName("Should reject an Idempotency-Key reused for a different request")
+    @SneakyThrows
+    @Test
+    public void shouldRejectDifferentRequest() {
+        String key = UUID.randomUUID().toString();
+        mockMvc.perform(createAccount(key, ACCOUNT))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(createAccount(key, ACCOUNT.replace("100", "200")))
+                .andExpect(status().isUnprocessableEntity());
+
+        assertEquals(1, accountRepository.count());
+    }
+
+    @DisplayName("Should not store failed responses so the request can be retried with the same Idempotency-Key")
+    @SneakyThrows
+    @Test
+    public void shouldReleaseKeyOnFailure() {
+        String key = UUID.randomUUID().toString();
+        mockMvc.perform(createAccount(key, "{}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(createAccount(key, ACCOUNT))
+                .andExpect(status().isCreated());
+
+        assertEquals(1, accountRepository.count());
+    }
+
+    @DisplayName("Should reject blank Idempotency-Key")
+    @SneakyThrows
+    @Test
+    public void shouldRejectBlankKey() {
+        mockMvc.perform(createAccount(" ", ACCOUNT))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, accountRepository.count());
+    }
+
+    private static RequestBuilder createAccount(String key, String body) {
+        return post("/api/v1/accounts")
+                .header(IDEMPOTENCY_KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+}
@@ -0,0 +1,176 @@
+package nl.rabobank.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import nl.rabobank.model.IdempotentResponse;
+import nl.rabobank.service.IdempotencyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static nl.rabobank.idempotency.IdempotencyFilter.IDEMPOTENCY_KEY_HEADER;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"accountHolderName\":\"John Due\"}";
+    private static final int MAX_BODY_SIZE = 64;
+
+    private final IdempotencyService idempotencyService = mock(IdempotencyService.class);
+    private final IdempotencyFilter filter = new IdempotencyFilter(idempotencyService, new ObjectMapper(), Duration.ofMillis(10), MAX_BODY_SIZE);
+
+    @AfterEach
+    public void after() {
+        filter.destroy();
+    }
+
+    @DisplayName("Should write the response and release the key when storing the response fails")
+    @SneakyThrows
+    @Test
+    public void shouldWriteResponseWhenCompleteFails() {
+        when(idempotencyService.reserve(anyString(), anyString(), anyString())).thenReturn(Optional.empty());
+        doThrow(new IllegalStateException("Mongo is down")).when(idempotencyService).complete(anyString(), anyString(), any());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, (req, res) -> {
+            ((HttpServletResponse) res).setStatus(201);
+            res.getOutputStream().write("created".getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertEquals(201, response.getStatus());
+        assertEquals("created", response.getContentAsString());
+        verify(idempotencyService).release(eq("/api/v1/accounts key"), anyString());
+    }
+
+    @DisplayName("Should store a response written through the writer")
+    @SneakyThrows
+    @Test
+    public void shouldStoreWrittenResponse() {
+        when(idempotencyService.reserve(anyString(), anyString(), anyString())).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, (req, res) -> {
+            ((HttpServletResponse) res).setStatus(201);
+            res.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            res.getWriter().write("created");
+        });
+
+        ArgumentCaptor<IdempotentResponse> stored = ArgumentCaptor.forClass(IdempotentResponse.class);
+        verify(idempotencyService).complete(eq("/api/v1/accounts key"), anyString(), stored.capture());
+        assertEquals("created", new String(stored.getValue().getBody(), StandardCharsets.UTF_8));
+        assertEquals("created", response.getContentAsString());
+    }
+
+    @DisplayName("Should reject a request body over the maximum size without reserving the key")
+    @SneakyThrows
+    @Test
+    public void shouldRejectLargeRequest() {
+        MockHttpServletRequest request = request();
+        request.setContent(new byte[MAX_BODY_SIZE + 1]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean invoked = new AtomicBoolean();
+
+        filter.doFilter(request, response, (req, res) -> invoked.set(true));
+
+        assertEquals(413, response.getStatus());
+        assertFalse(invoked.get());
+        verify(idempotencyService, never()).reserve(anyString(), anyString(), anyString());
+    }
+
+    @DisplayName("Should return a response over the maximum size without storing it and release the key")
+    @SneakyThrows
+    @Test
+    public void shouldNotStoreLargeResponse() {
+        when(idempotencyService.reserve(anyString(), anyString(), anyString())).thenReturn(Optional.empty());
+        byte[] body = new byte[MAX_BODY_SIZE + 1];
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, (req, res) -> {
+            ((HttpServletResponse) res).setStatus(201);
+            res.getOutputStream().write(body, 0, MAX_BODY_SIZE);
+            res.getOutputStream().write(body[MAX_BODY_SIZE]);
+        });
+
+        assertEquals(201, response.getStatus());
+        assertArrayEquals(body, response.getContentAsByteArray());
+        verify(idempotencyService, never()).complete(anyString(), anyString(), any());
+        verify(idempotencyService).release(eq("/api/v1/accounts key"), anyString());
+    }
+
+    @DisplayName("Should renew the key while the request runs")
+    @SneakyThrows
+    @Test
+    public void shouldRenewWhileRunning() {
+        when(idempotencyService.reserve(anyString(), anyString(), anyString())).thenReturn(Optional.empty());
+        when(idempotencyService.renew(anyString(), anyString())).thenReturn(true);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), (req, res) ->
+                verify(idempotencyService, timeout(1_000).atLeastOnce()).renew(eq("/api/v1/accounts key"), anyString()));
+    }
+
+    @DisplayName("Should notify read listeners of the cached body right away")
+    @SneakyThrows
+    @Test
+    public void shouldNotifyReadListener() {
+        when(idempotencyService.reserve(anyString(), anyString(), anyString())).thenReturn(Optional.empty());
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+
+        FilterChain chain = (req, res) -> {
+            ServletInputStream inputStream = req.getInputStream();
+            inputStream.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    read.writeBytes(StreamUtils.copyToByteArray(inputStream));
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+            });
+        };
+        filter.doFilter(request(), new MockHttpServletResponse(), chain);
+
+        assertEquals(BODY, read.toString(StandardCharsets.UTF_8));
+        assertTrue(allDataRead.get());
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/accounts");
+        request.addHeader(IDEMPOTENCY_KEY_HEADER, "key");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,55 @@
+package nl.rabobank.mongo;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MongoClientPropertiesTest {
+
+    @DisplayName("Should apply pool, timeouts, compressors and read preference to client settings")
+    @Test
+    public void shouldApplyToClientSettings() {
+        MongoClientProperties properties = new MongoClientProperties();
+        properties.getPool().setMaxSize(50);
+        properties.getPool().setMinSize(5);
+        properties.getPool().setMaxWaitTime(Duration.ofSeconds(2));
+        properties.setConnectTimeout(Duration.ofSeconds(3));
+        properties.setReadTimeout(Duration.ofSeconds(4));
+        properties.setServerSelectionTimeout(Duration.ofSeconds(5));
+        properties.setCompressors(List.of(MongoClientProperties.Compressor.ZSTD, MongoClientProperties.Compressor.SNAPPY));
+        properties.setReadPreference(MongoClientProperties.ReadPreferenceMode.PRIMARY_PREFERRED);
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+
+        properties.applyTo(builder);
+
+        MongoClientSettings settings = builder.build();
+        assertEquals(50, settings.getConnectionPoolSettings().getMaxSize());
+        assertEquals(5, settings.getConnectionPoolSettings().getMinSize());
+        assertEquals(2000, settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS));
+        assertEquals(3000, settings.getSocketSettings().getConnectTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(4000, settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(5000, settings.getClusterSettings().getServerSelectionTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(List.of("zstd", "snappy"), settings.getCompressorList().stream().map(MongoCompressor::getName).collect(Collectors.toList()));
+        assertEquals(ReadPreference.primaryPreferred(), settings.getReadPreference());
+    }
+
+    @DisplayName("Should keep driver defaults for unset properties")
+    @Test
+    public void shouldKeepDriverDefaults() {
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+
+        new MongoClientProperties().applyTo(builder);
+
+        assertEquals(MongoClientSettings.builder().build().getConnectionPoolSettings(), builder.build().getConnectionPoolSettings());
+        assertEquals(ReadPreference.primary(), builder.build().getReadPreference());
+    }
+}
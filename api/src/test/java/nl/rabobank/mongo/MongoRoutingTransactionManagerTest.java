@@ -0,0 +1,73 @@
+package nl.rabobank.mongo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class MongoRoutingTransactionManagerTest {
+
+    private final PlatformTransactionManager mongoTransactionManager = mock(PlatformTransactionManager.class);
+    private final MongoRoutingTransactionManager transactionManager =
+            new MongoRoutingTransactionManager(new MongoSessionTransactionManager(), mongoTransactionManager);
+
+    @AfterEach
+    public void after() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @DisplayName("Should keep read-only scopes on sessions without Mongo transactions")
+    @Test
+    public void shouldRouteReadOnlyToSessions() {
+        TransactionStatus status = transactionManager.getTransaction(definition(true));
+
+        assertTrue(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+        transactionManager.commit(status);
+        assertTrue(status.isCompleted());
+        verifyNoInteractions(mongoTransactionManager);
+    }
+
+    @DisplayName("Should start Mongo transactions for write scopes")
+    @Test
+    public void shouldRouteWritesToMongoTransactions() {
+        TransactionStatus mongoStatus = mock(TransactionStatus.class);
+        when(mongoTransactionManager.getTransaction(any())).thenReturn(mongoStatus);
+
+        TransactionStatus status = transactionManager.getTransaction(definition(false));
+        transactionManager.rollback(status);
+
+        assertSame(mongoStatus, status);
+        verify(mongoTransactionManager).rollback(mongoStatus);
+    }
+
+    @DisplayName("Should join the outer Mongo transaction from nested read-only scopes")
+    @Test
+    public void shouldJoinOuterTransaction() {
+        TransactionStatus mongoStatus = mock(TransactionStatus.class);
+        when(mongoTransactionManager.getTransaction(any())).thenReturn(mongoStatus);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        TransactionStatus status = transactionManager.getTransaction(definition(true));
+        transactionManager.commit(status);
+
+        assertSame(mongoStatus, status);
+        verify(mongoTransactionManager).commit(mongoStatus);
+    }
+
+    private static DefaultTransactionDefinition definition(boolean readOnly) {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(readOnly);
+        return definition;
+    }
+}
@@ -0,0 +1,106 @@
+package nl.rabobank.mongo;
+
+import com.mongodb.ReadPreference;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.mongo.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static nl.rabobank.mongo.ReadOnlyRoutingMongoDatabaseFactory.SECONDARY_READS;
+import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+import static nl.rabobank.util.AccountTestDataUtils.createAccountEntity;
+import static nl.rabobank.util.AccountUtils.generateAccountNumber;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "mongo.client.read-only-read-preference=secondary-preferred")
+@DirtiesContext
+@ActiveProfiles(profiles = {MONGO_DATA_PROFILE})
+public class ReadOnlyRoutingMongoDatabaseFactoryITest {
+
+    @Autowired
+    private MongoDatabaseFactory mongoDatabaseFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @AfterEach
+    public void after() {
+        accountRepository.deleteAll();
+    }
+
+    @DisplayName("Should route labelled read-only transactions to secondaries and everything else to primary")
+    @Test
+    public void shouldRouteReadOnlyTransactions() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        assertEquals(ReadPreference.secondaryPreferred(), inSecondaryReads(this::currentReadPreference));
+        assertEquals(ReadPreference.primary(), readOnly.execute(status -> currentReadPreference()));
+        assertEquals(ReadPreference.primary(), readWrite.execute(status -> currentReadPreference()));
+        assertEquals(ReadPreference.primary(), currentReadPreference());
+    }
+
+    @DisplayName("Should read from primary in a new transaction suspending a labelled read-only transaction")
+    @Test
+    public void shouldSuspendSecondaryReads() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setReadOnly(true);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        List<ReadPreference> readPreferences = inSecondaryReads(() -> List.of(
+                requiresNew.execute(status -> currentReadPreference()),
+                currentReadPreference()));
+
+        assertEquals(List.of(ReadPreference.primary(), ReadPreference.secondaryPreferred()), readPreferences);
+    }
+
+    @DisplayName("Should read own writes through repositories inside read-only transactions")
+    @Test
+    public void shouldReadInsideReadOnlyTransactions() {
+        String accountNumber = generateAccountNumber();
+        accountRepository.save(createAccountEntity(accountNumber, AccountType.PAYMENT));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        String fetched = readOnly.execute(status -> {
+            accountRepository.existsAccountEntityByAccountNumber(accountNumber);
+            return accountRepository.findAccountEntityByAccountNumber(accountNumber).orElseThrow().getAccountNumber();
+        });
+
+        assertEquals(accountNumber, fetched);
+    }
+
+    private ReadPreference currentReadPreference() {
+        return mongoDatabaseFactory.getMongoDatabase().getReadPreference();
+    }
+
+    private <T> T inSecondaryReads(Supplier<T> action) {
+        DefaultTransactionAttribute definition = new DefaultTransactionAttribute();
+        definition.setReadOnly(true);
+        definition.setLabels(List.of(SECONDARY_READS));
+        TransactionStatus status = transactionManager.getTransaction(definition);
+        try {
+            return action.get();
+        } finally {
+            transactionManager.commit(status);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package nl.rabobank.mongo;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.connection.ClusterConnectionMode;
+import com.mongodb.connection.ClusterDescription;
+import com.mongodb.connection.ClusterType;
+import com.mongodb.connection.ServerConnectionState;
+import com.mongodb.connection.ServerDescription;
+import com.mongodb.connection.ServerType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static nl.rabobank.mongo.ReadOnlyRoutingMongoDatabaseFactory.CAUSALLY_CONSISTENT;
+import static nl.rabobank.mongo.ReadOnlyRoutingMongoDatabaseFactory.SNAPSHOT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReadOnlyRoutingMongoDatabaseFactoryTest {
+
+    private static final int MONGO_4_4_WIRE_VERSION = 9;
+    private static final int MONGO_5_0_WIRE_VERSION = 13;
+
+    private final MongoClient mongoClient = mock(MongoClient.class);
+    private final ReadOnlyRoutingMongoDatabaseFactory factory =
+            new ReadOnlyRoutingMongoDatabaseFactory(mongoClient, "rabobank", ReadPreference.secondaryPreferred());
+
+    @DisplayName("Should use snapshot sessions on replica sets with snapshot reads")
+    @Test
+    public void shouldUseSnapshotSessions() {
+        when(mongoClient.getClusterDescription()).thenReturn(cluster(ClusterType.REPLICA_SET, ServerType.REPLICA_SET_PRIMARY, MONGO_5_0_WIRE_VERSION));
+
+        assertEquals(SNAPSHOT, factory.sessionOptions());
+    }
+
+    @DisplayName("Should fall back to causally consistent sessions without snapshot reads")
+    @Test
+    public void shouldFallBackToCausallyConsistentSessions() {
+        when(mongoClient.getClusterDescription())
+                .thenReturn(cluster(ClusterType.REPLICA_SET, ServerType.REPLICA_SET_PRIMARY, MONGO_4_4_WIRE_VERSION))
+                .thenReturn(cluster(ClusterType.STANDALONE, ServerType.STANDALONE, MONGO_5_0_WIRE_VERSION));
+
+        assertEquals(CAUSALLY_CONSISTENT, factory.sessionOptions());
+        assertEquals(CAUSALLY_CONSISTENT, factory.sessionOptions());
+    }
+
+    @DisplayName("Should read without session when sessions are not supported")
+    @Test
+    public void shouldReadWithoutSession() {
+        when(mongoClient.getClusterDescription()).thenReturn(new ClusterDescription(ClusterConnectionMode.SINGLE, ClusterType.UNKNOWN, List.of()));
+
+        assertNull(factory.sessionOptions());
+    }
+
+    @DisplayName("Should start one snapshot session per read-only scope and close it on completion")
+    @Test
+    public void shouldStartSnapshotSessionPerReadOnlyScope() {
+        ClientSession session = mock(ClientSession.class);
+        MongoDatabase database = mock(MongoDatabase.class);
+        when(mongoClient.getClusterDescription()).thenReturn(cluster(ClusterType.REPLICA_SET, ServerType.REPLICA_SET_PRIMARY, MONGO_5_0_WIRE_VERSION));
+        when(mongoClient.startSession(any())).thenReturn(session);
+        when(mongoClient.getDatabase(anyString())).thenReturn(database);
+        TransactionTemplate readOnly = new TransactionTemplate(new MongoSessionTransactionManager());
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(new MongoSessionTransactionManager());
+
+        readWrite.executeWithoutResult(status -> factory.getMongoDatabase());
+        verify(mongoClient, never()).startSession(any());
+        readOnly.executeWithoutResult(status -> {
+            factory.getMongoDatabase();
+            factory.getMongoDatabase();
+        });
+
+        verify(mongoClient).startSession(SNAPSHOT);
+        verify(session).close();
+    }
+
+    private static ClusterDescription cluster(ClusterType clusterType, ServerType serverType, int maxWireVersion) {
+        return new ClusterDescription(clusterType == ClusterType.STANDALONE ? ClusterConnectionMode.SINGLE : ClusterConnectionMode.MULTIPLE,
+                clusterType, List.of(ServerDescription.builder()
+                .address(new ServerAddress())
+                .state(ServerConnectionState.CONNECTED)
+                .ok(true)
+                .type(serverType)
+                .maxWireVersion(maxWireVersion)
+                .logicalSessionTimeoutMinutes(30)
+                .build()));
+    }
+}
@@ -0,0 +1,108 @@
+package nl.rabobank.mongo.codec;
+
+import nl.rabobank.account.Account;
+import nl.rabobank.account.PaymentAccount;
+import nl.rabobank.account.SavingsAccount;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AccountCodecTest {
+
+    private final AccountCodec accountCodec = new AccountCodec();
+
+    @DisplayName("Should decode account document into Payment account skipping unknown fields")
+    @Test
+    public void shouldDecodePaymentAccount() {
+        BsonDocument document = BsonDocument.parse("{ '_id' : { '$oid' : '60c72b2f9b1d8b3a4c8e4f1a' }, 'accountNumber' : '0000123456789012345', "
+                + "'accountHolderName' : 'John Due', 'balance' : { '$numberLong' : '123456' }, 'type' : 'PAYMENT', "
+                + "'powerOfAttorneys' : [ { 'granteeName' : 'Jane Due', 'authorization' : 'READ' } ], "
+                + "'_class' : 'nl.rabobank.mongo.model.AccountEntity' }");
+
+        Account account = decode(document);
+
+        assertEquals(new PaymentAccount("0000123456789012345", "John Due", 123_456), account);
+    }
+
+    @DisplayName("Should decode account document into Savings account")
+    @Test
+    public void shouldDecodeSavingsAccount() {
+        BsonDocument document = BsonDocument.parse("{ 'accountNumber' : '0000123456789012345', 'accountHolderName' : 'John Due', "
+                + "'balance' : 100, 'type' : 'SAVINGS' }");
+
+        Account account = decode(document);
+
+        assertEquals(new SavingsAccount("0000123456789012345", "John Due", 100), account);
+    }
+
+    @DisplayName("Should reject balances that are not integers naming the document")
+    @Test
+    public void shouldRejectUnsupportedBalance() {
+        BsonDocument decimal = BsonDocument.parse("{ '_id' : { '$oid' : '60c72b2f9b1d8b3a4c8e4f1a' }, 'accountNumber' : '0000123456789012345', "
+                + "'balance' : { '$numberDecimal' : '100.50' }, 'type' : 'SAVINGS' }");
+        BsonDocument euros = BsonDocument.parse("{ '_id' : { '$oid' : '60c72b2f9b1d8b3a4c8e4f1a' }, 'accountNumber' : '0000123456789012345', "
+                + "'balance' : 100.5, 'type' : 'SAVINGS' }");
+        BsonDocument missing = BsonDocument.parse("{ '_id' : { '$oid' : '60c72b2f9b1d8b3a4c8e4f1a' }, 'accountNumber' : '0000123456789012345', "
+                + "'balance' : null, 'type' : 'SAVINGS' }");
+
+        assertEquals("Account document 60c72b2f9b1d8b3a4c8e4f1a has unsupported balance type DECIMAL128",
+                assertThrows(IllegalStateException.class, () -> decode(decimal)).getMessage());
+        assertEquals("Account document 60c72b2f9b1d8b3a4c8e4f1a has unsupported balance type DOUBLE",
+                assertThrows(IllegalStateException.class, () -> decode(euros)).getMessage());
+        assertEquals("Account document 60c72b2f9b1d8b3a4c8e4f1a has unsupported balance type NULL",
+                assertThrows(IllegalStateException.class, () -> decode(missing)).getMessage());
+    }
+
+    @DisplayName("Should reject account documents without a known type")
+    @Test
+    public void shouldRejectMissingOrUnknownType() {
+        BsonDocument missing = BsonDocument.parse("{ 'accountNumber' : '0000123456789012345', 'accountHolderName' : 'John Due', 'balance' : 100 }");
+        BsonDocument unknown = BsonDocument.parse("{ 'accountNumber' : '0000123456789012345', 'accountHolderName' : 'John Due', "
+                + "'balance' : 100, 'type' : 'DEPOSIT' }");
+
+        assertEquals("Account 0000123456789012345 has no type",
+                assertThrows(IllegalStateException.class, () -> decode(missing)).getMessage());
+        assertEquals("Account 0000123456789012345 has unknown type DEPOSIT",
+                assertThrows(IllegalStateException.class, () -> decode(unknown)).getMessage());
+    }
+
+    @DisplayName("Should decode null account holder name")
+    @Test
+    public void shouldDecodeNullAccountHolderName() {
+        BsonDocument document = BsonDocument.parse("{ 'accountNumber' : '0000123456789012345', 'accountHolderName' : null, "
+                + "'balance' : 100, 'type' : 'PAYMENT' }");
+
+        assertEquals(new PaymentAccount("0000123456789012345", null, 100), decode(document));
+    }
+
+    @DisplayName("Should encode accounts into documents it decodes")
+    @Test
+    public void shouldEncodeAccount() {
+        Account payment = new PaymentAccount("0000123456789012345", "John Due", 123_456);
+        Account savings = new SavingsAccount("0000123456789012345", null, -1);
+
+        BsonDocument document = encode(payment);
+
+        assertEquals(BsonDocument.parse("{ 'accountNumber' : '0000123456789012345', 'accountHolderName' : 'John Due', "
+                + "'balance' : { '$numberLong' : '123456' }, 'type' : 'PAYMENT' }"), document);
+        assertEquals(payment, decode(document));
+        assertEquals(savings, decode(encode(savings)));
+    }
+
+    private BsonDocument encode(Account account) {
+        BsonDocument document = new BsonDocument();
+        accountCodec.encode(new BsonDocumentWriter(document), account, EncoderContext.builder().build());
+        return document;
+    }
+
+    private Account decode(BsonDocument document) {
+        return accountCodec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+}
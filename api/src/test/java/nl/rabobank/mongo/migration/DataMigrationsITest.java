@@ -0,0 +1,130 @@
+package nl.rabobank.mongo.migration;
+
+import com.mongodb.client.MongoCollection;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.mongo.model.AccountEntity;
+import nl.rabobank.mongo.model.GrantEntity;
+import nl.rabobank.mongo.repository.AccountRepository;
+import nl.rabobank.mongo.repository.GrantRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+import static nl.rabobank.util.AccountTestDataUtils.createAccountEntity;
+import static nl.rabobank.util.AccountUtils.generateAccountNumber;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@DirtiesContext
+@ActiveProfiles(profiles = {MONGO_DATA_PROFILE})
+public class DataMigrationsITest {
+
+    @Autowired
+    private DataMigrations dataMigrations;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private GrantRepository grantRepository;
+
+    @AfterEach
+    public void after() {
+        accountRepository.deleteAll();
+        grantRepository.deleteAll();
+    }
+
+    @DisplayName("Should backfill embedded powers of attorney into grants once")
+    @Test
+    public void shouldBackfillGrants() {
+        unapply(GrantBackfillMigration.ID);
+        AccountEntity account = accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder", AccountType.PAYMENT, 0));
+        embedGrantees(account.getAccountNumber(), grantee("Grantee", Authorization.READ), grantee("Grantee", Authorization.WRITE),
+                grantee("Other Grantee", Authorization.READ));
+        accountRepository.save(createAccountEntity(generateAccountNumber(), "Other Holder", AccountType.SAVINGS, 0));
+        Instant validUntil = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS);
+        grantRepository.addGrant(GrantEntity.builder()
+                .granteeName("Grantee")
+                .authorization(Authorization.READ)
+                .accountNumber(account.getAccountNumber())
+                .validUntil(validUntil)
+                .build());
+
+        assertEquals(1, dataMigrations.migrate());
+        assertEquals(0, dataMigrations.migrate());
+
+        List<GrantEntity> grants = grantRepository.findByGranteeName("Grantee");
+        assertEquals(2, grants.size());
+        assertEquals(validUntil, grants.get(0).getValidUntil());
+        assertEquals(Authorization.WRITE, grants.get(1).getAuthorization());
+        assertEquals(GrantEntity.PERMANENT, grants.get(1).getValidUntil());
+        assertEquals(account.getAccountNumber(), grants.get(1).getAccountNumber());
+        assertEquals(1, grantRepository.findByGranteeName("Other Grantee").size());
+        assertEquals(3, grantRepository.count());
+    }
+
+    @DisplayName("Should convert Double balances into cents once")
+    @Test
+    public void shouldConvertDoubleBalancesIntoCents() {
+        unapply(BalanceCentsMigration.ID);
+        String accountNumber = generateAccountNumber();
+        String migratedAccountNumber = generateAccountNumber();
+        insertAccount(accountNumber, 100.5);
+        insertAccount(migratedAccountNumber, 1_234L);
+
+        assertEquals(1, dataMigrations.migrate());
+        assertEquals(0, dataMigrations.migrate());
+
+        assertEquals(10_050L, accounts().find(new Document("accountNumber", accountNumber)).first().get("balance"));
+        assertEquals(10_050, accountRepository.findAccountEntityByAccountNumber(accountNumber).orElseThrow().getBalance());
+        assertEquals(1_234, accountRepository.findAccountEntityByAccountNumber(migratedAccountNumber).orElseThrow().getBalance());
+    }
+
+    @DisplayName("Should round Double euro amounts to the nearest cent")
+    @Test
+    public void shouldRoundToCents() {
+        assertEquals(10_050, BalanceCentsMigration.toCents(100.5));
+        assertEquals(29, BalanceCentsMigration.toCents(0.29));
+        assertEquals(-1_999, BalanceCentsMigration.toCents(-19.99));
+        assertEquals(1, BalanceCentsMigration.toCents(0.005));
+    }
+
+    private void unapply(String id) {
+        mongoTemplate.getCollection(IndexMigration.COLLECTION).deleteOne(new Document("_id", id));
+    }
+
+    /**
+     * Grantees were embedded in the accounts before the grants collection existed.
+     */
+    private void embedGrantees(String accountNumber, Document... grantees) {
+        accounts().updateOne(new Document("accountNumber", accountNumber),
+                new Document("$set", new Document("powerOfAttorneys", List.of(grantees))));
+    }
+
+    private static Document grantee(String granteeName, Authorization authorization) {
+        return new Document("granteeName", granteeName).append("authorization", authorization.name());
+    }
+
+    private MongoCollection<Document> accounts() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(AccountEntity.class));
+    }
+
+    private void insertAccount(String accountNumber, Object balance) {
+        accounts().insertOne(new Document("accountNumber", accountNumber)
+                .append("accountHolderName", "Holder")
+                .append("balance", balance)
+                .append("type", AccountType.SAVINGS.name()));
+    }
+}
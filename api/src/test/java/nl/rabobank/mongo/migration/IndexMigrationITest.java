@@ -0,0 +1,59 @@
+package nl.rabobank.mongo.migration;
+
+import nl.rabobank.mongo.model.AccountEntity;
+import nl.rabobank.mongo.model.GrantEntity;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "mongo.indexes.auto-create=false")
+@DirtiesContext
+@ActiveProfiles(profiles = {MONGO_DATA_PROFILE})
+public class IndexMigrationITest {
+
+    @Autowired
+    private IndexMigration indexMigration;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @AfterEach
+    public void after() {
+        mongoTemplate.dropCollection(IndexMigration.COLLECTION);
+    }
+
+    @DisplayName("Should create entity indexes once per migration version")
+    @Test
+    public void shouldMigrateIndexes() {
+        assertTrue(indexMigration.migrate());
+        assertFalse(indexMigration.migrate());
+
+        assertTrue(indexNames(AccountEntity.class).contains("accountNumber"));
+        assertTrue(indexNames(GrantEntity.class).contains("grantee_authorization_account"));
+        assertTrue(indexNames(GrantEntity.class).contains("grantee_authorization_account_validity"));
+        assertTrue(indexNames(GrantEntity.class).contains("account_grantee"));
+        Document migration = mongoTemplate.getCollection(IndexMigration.COLLECTION).find(new Document("_id", "indexes")).first();
+        assertEquals(IndexMigration.VERSION, migration.getInteger("version"));
+    }
+
+    private List<String> indexNames(Class<?> entity) {
+        return mongoTemplate.indexOps(entity).getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,116 @@
+package nl.rabobank.mongo.repository;
+
+import com.mongodb.MongoCommandException;
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.mongo.model.GrantEntity;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+import static nl.rabobank.mongo.repository.GrantRepository.INDEXED_FIELDS;
+import static nl.rabobank.util.AccountUtils.generateAccountNumber;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The embedded server does not explain queries, the tests are skipped there.
+ */
+@SpringBootTest
+@DirtiesContext
+@ActiveProfiles(profiles = {MONGO_DATA_PROFILE})
+public class GrantRepositoryITest {
+
+    private static final String GRANTEE = "grantee";
+    private static final String INDEX = "grantee_authorization_account_validity";
+
+    @Autowired
+    private GrantRepository grantRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void before() {
+        for (int i = 0; i < 10; i++) {
+            grantRepository.addGrant(GrantEntity.builder()
+                    .granteeName(GRANTEE)
+                    .authorization(i % 2 == 0 ? Authorization.READ : Authorization.WRITE)
+                    .accountNumber(generateAccountNumber())
+                    .build());
+        }
+    }
+
+    @AfterEach
+    public void after() {
+        grantRepository.deleteAll();
+    }
+
+    @DisplayName("Should select valid grants of a grantee sorted on the index without a SORT stage")
+    @Test
+    public void shouldSortGranteeGrantsOnIndex() {
+        List<Document> stages = winningPlanStages(
+                new Document("granteeName", GRANTEE).append("validUntil", new Document("$gt", Date.from(Instant.now()))),
+                new Document("authorization", 1).append("accountNumber", 1));
+
+        assertFalse(stages.stream().anyMatch(stage -> stage.getString("stage").contains("SORT")), stages.toString());
+        assertTrue(stages.stream().anyMatch(stage -> INDEX.equals(stage.getString("indexName"))), stages.toString());
+    }
+
+    @DisplayName("Should select valid grants of a grantee and authorization sorted on the index without a SORT stage")
+    @Test
+    public void shouldSortGranteeAuthorizationGrantsOnIndex() {
+        List<Document> stages = winningPlanStages(
+                new Document("granteeName", GRANTEE).append("authorization", Authorization.READ.name())
+                        .append("validUntil", new Document("$gt", Date.from(Instant.now()))),
+                new Document("accountNumber", 1));
+
+        assertFalse(stages.stream().anyMatch(stage -> stage.getString("stage").contains("SORT")), stages.toString());
+        assertTrue(stages.stream().anyMatch(stage -> INDEX.equals(stage.getString("indexName"))), stages.toString());
+    }
+
+    /**
+     * Explains the find {@link GrantRepository} sends for the filter and sort, with its projection.
+     */
+    private List<Document> winningPlanStages(Document filter, Document sort) {
+        Document find = new Document("find", mongoTemplate.getCollectionName(GrantEntity.class))
+                .append("filter", filter)
+                .append("projection", Document.parse(INDEXED_FIELDS))
+                .append("sort", sort);
+        Document explain;
+        try {
+            explain = mongoTemplate.getDb().runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+        } catch (MongoCommandException e) {
+            explain = null;
+        }
+        assumeTrue(explain != null, "explain is not supported by the server");
+        List<Document> stages = new ArrayList<>();
+        collectStages(explain.get("queryPlanner", Document.class).get("winningPlan"), stages);
+        return stages;
+    }
+
+    private void collectStages(Object plan, List<Document> stages) {
+        if (plan instanceof List) {
+            ((List<?>) plan).forEach(input -> collectStages(input, stages));
+        } else if (plan instanceof Document) {
+            Document stage = (Document) plan;
+            if (stage.containsKey("stage")) {
+                stages.add(stage);
+            }
+            stage.values().forEach(value -> collectStages(value, stages));
+        }
+    }
+}
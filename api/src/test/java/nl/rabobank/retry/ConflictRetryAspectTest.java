@@ -0,0 +1,127 @@
+package nl.rabobank.retry;
+
+import com.mongodb.MongoCommandException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static nl.rabobank.config.MetricsConfiguration.SERVICE_RETRIES_COUNTER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConflictRetryAspectTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConflictRetryAspect aspect = new ConflictRetryAspect(MAX_ATTEMPTS, Duration.ofMillis(1), Duration.ofMillis(4), 2, meterRegistry);
+
+    @DisplayName("Should retry conflicting calls until they succeed")
+    @Test
+    public void shouldRetryConflicts() {
+        Writer writer = proxy(new Writer(2, () -> new OptimisticLockingFailureException("Stale version")));
+
+        assertEquals(3, writer.write());
+        assertEquals(2, meterRegistry.counter(SERVICE_RETRIES_COUNTER, "method", "write").count());
+    }
+
+    @DisplayName("Should give up after the maximum number of attempts")
+    @Test
+    public void shouldGiveUpAfterMaxAttempts() {
+        Writer target = new Writer(MAX_ATTEMPTS, () -> new OptimisticLockingFailureException("Stale version"));
+
+        assertThrows(OptimisticLockingFailureException.class, proxy(target)::write);
+        assertEquals(MAX_ATTEMPTS, target.attempts.get());
+    }
+
+    @DisplayName("Should not retry other failures")
+    @Test
+    public void shouldNotRetryOtherFailures() {
+        Writer target = new Writer(1, () -> new DataIntegrityViolationException("Duplicate key"));
+
+        assertThrows(DataIntegrityViolationException.class, proxy(target)::write);
+        assertEquals(1, target.attempts.get());
+    }
+
+    @DisplayName("Should not retry within an outer transaction")
+    @Test
+    public void shouldNotRetryWithinOuterTransaction() {
+        Writer target = new Writer(1, () -> new OptimisticLockingFailureException("Stale version"));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(OptimisticLockingFailureException.class, proxy(target)::write);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertEquals(1, target.attempts.get());
+    }
+
+    @DisplayName("Should treat transient transaction errors as conflicts")
+    @Test
+    public void shouldDetectTransientTransactionErrors() {
+        MongoCommandException writeConflict = new MongoCommandException(new BsonDocument("ok", new BsonInt32(0))
+                .append("code", new BsonInt32(112))
+                .append("errmsg", new BsonString("WriteConflict"))
+                .append("errorLabels", new BsonArray(List.of(new BsonString("TransientTransactionError")))), null);
+
+        assertTrue(ConflictRetryAspect.isConflict(new DataIntegrityViolationException("Write conflict", writeConflict)));
+        assertFalse(ConflictRetryAspect.isConflict(new DataIntegrityViolationException("Duplicate key")));
+    }
+
+    @DisplayName("Should back off exponentially up to the maximum with jitter")
+    @Test
+    public void shouldBackOffWithJitter() {
+        for (int attempt = 1; attempt <= 10; attempt++) {
+            Duration cap = Duration.ofMillis(Math.min(4, 1L << (attempt - 1)));
+            for (int i = 0; i < 100; i++) {
+                Duration backoff = aspect.backoff(attempt);
+                assertFalse(backoff.isNegative());
+                assertTrue(backoff.compareTo(cap) <= 0, backoff + " > " + cap);
+            }
+        }
+    }
+
+    private Writer proxy(Writer target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    static class Writer {
+
+        private final int failures;
+        private final Supplier<RuntimeException> failure;
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        Writer(int failures, Supplier<RuntimeException> failure) {
+            this.failures = failures;
+            this.failure = failure;
+        }
+
+        @RetryOnConflict
+        public int write() {
+            int attempt = attempts.incrementAndGet();
+            if (attempt <= failures) {
+                throw failure.get();
+            }
+            return attempt;
+        }
+    }
+}
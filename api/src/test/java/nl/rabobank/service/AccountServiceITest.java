@@ -1,12 +1,19 @@
 package nl.rabobank.service;
 
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import nl.rabobank.account.Account;
 import nl.rabobank.account.AccountType;
 import nl.rabobank.exception.AccountNotFoundException;
+import nl.rabobank.exception.InvalidContinuationTokenException;
+import nl.rabobank.model.AccountSlice;
+import nl.rabobank.model.BatchItemResult;
 import nl.rabobank.model.CreateAccountDto;
+import nl.rabobank.model.Versioned;
 import nl.rabobank.mongo.model.AccountEntity;
 import nl.rabobank.mongo.repository.AccountRepository;
+import nl.rabobank.util.MoneyUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -15,16 +22,27 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static nl.rabobank.config.CacheConfiguration.ACCOUNTS_CACHE;
+import static nl.rabobank.config.MetricsConfiguration.RESULT_SIZE_SUMMARY;
+import static nl.rabobank.config.MetricsConfiguration.SERVICE_TIMER;
 import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
 import static nl.rabobank.util.AccountTestDataUtils.createAccountDto;
 import static nl.rabobank.util.AccountTestDataUtils.createAccountEntities;
@@ -32,9 +50,11 @@ import static nl.rabobank.util.AccountTestDataUtils.createAccountEntity;
 import static nl.rabobank.util.AccountUtils.generateAccountNumber;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
+@DirtiesContext
 @ActiveProfiles(profiles = {MONGO_DATA_PROFILE})
 public class AccountServiceITest {
 
@@ -47,6 +67,12 @@ public class AccountServiceITest {
     @Autowired
     private Converter<AccountEntity, Account> toAccountConverter;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @AfterEach
     public void after() {
         accountRepository.deleteAll();
@@ -61,7 +87,7 @@ public class AccountServiceITest {
         Account savedAccount = accountService.createAccount(accountDto);
 
         assertEquals(accountDto.getAccountHolderName(), savedAccount.getAccountHolderName());
-        assertEquals(accountDto.getInitialBalance(), savedAccount.getBalance());
+        assertEquals(MoneyUtils.toMinorUnits(accountDto.getInitialBalance()), savedAccount.getBalance());
         assertNotNull(savedAccount.getAccountNumber());
 
         Optional<AccountEntity> fetchedAccountOpt = accountRepository.findAccountEntityByAccountNumber(savedAccount.getAccountNumber());
@@ -70,7 +96,7 @@ public class AccountServiceITest {
         AccountEntity fetchedAccount = fetchedAccountOpt.get();
 
         assertEquals(accountDto.getAccountHolderName(), fetchedAccount.getAccountHolderName());
-        assertEquals(accountDto.getInitialBalance(), fetchedAccount.getBalance());
+        assertEquals(MoneyUtils.toMinorUnits(accountDto.getInitialBalance()), fetchedAccount.getBalance());
         assertEquals(accountType, fetchedAccount.getType());
     }
 
@@ -112,4 +138,157 @@ public class AccountServiceITest {
 
         assertEquals(expected, fetchedAccount);
     }
+
+    @DisplayName("Should fetch all accounts slice by slice using continuation token")
+    @Test
+    public void shouldFetchAccountSlices() {
+        List<Account> expected = accountRepository.saveAll(createAccountEntities()).stream()
+                .sorted(Comparator.comparing(AccountEntity::getId))
+                .map(toAccountConverter::convert)
+                .collect(Collectors.toList());
+
+        AccountSlice firstSlice = accountService.getAccounts(null, 3);
+        AccountSlice lastSlice = accountService.getAccounts(firstSlice.getContinuationToken(), 3);
+
+        assertEquals(3, firstSlice.getContent().size());
+        assertNotNull(firstSlice.getContinuationToken());
+        assertEquals(1, lastSlice.getContent().size());
+        assertNull(lastSlice.getContinuationToken());
+        List<Account> fetchedAccounts = new ArrayList<>(firstSlice.getContent());
+        fetchedAccounts.addAll(lastSlice.getContent());
+        assertEquals(expected, fetchedAccounts);
+    }
+
+    @DisplayName("Should not return continuation token when last slice is full")
+    @Test
+    public void shouldNotReturnContinuationTokenForFullLastSlice() {
+        accountRepository.saveAll(createAccountEntities());
+
+        AccountSlice slice = accountService.getAccounts(null, 4);
+
+        assertEquals(4, slice.getContent().size());
+        assertNull(slice.getContinuationToken());
+    }
+
+    @DisplayName("Should throw InvalidContinuationTokenException for malformed continuation token")
+    @Test
+    public void shouldThrowExceptionForInvalidContinuationToken() {
+        InvalidContinuationTokenException thrown = Assertions.assertThrows(InvalidContinuationTokenException.class, () ->
+                accountService.getAccounts("fake token", 3)
+        );
+        assertEquals("Invalid continuation token: fake token", thrown.getMessage());
+    }
+
+    @DisplayName("Should export all accounts")
+    @Test
+    public void shouldExportAccounts() {
+        List<Account> expected = accountRepository.saveAll(createAccountEntities()).stream()
+                .map(toAccountConverter::convert)
+                .collect(Collectors.toList());
+
+        List<Account> exportedAccounts;
+        try (Stream<Account> accounts = accountService.exportAccounts()) {
+            exportedAccounts = accounts.collect(Collectors.toList());
+        }
+
+        assertEquals(expected.size(), exportedAccounts.size());
+        assertTrue(exportedAccounts.containsAll(expected));
+    }
+
+    @DisplayName("Should create valid accounts in batch and return errors for invalid ones in input order")
+    @Test
+    public void shouldCreateAccountsInBatch() {
+        CreateAccountDto invalidAccountDto = createAccountDto(AccountType.SAVINGS);
+        invalidAccountDto.setInitialBalance(BigDecimal.valueOf(-1));
+        List<CreateAccountDto> accountDtos = List.of(createAccountDto(AccountType.PAYMENT), invalidAccountDto, createAccountDto(AccountType.SAVINGS));
+
+        List<BatchItemResult<Account>> results = accountService.createAccounts(accountDtos);
+
+        assertEquals(3, results.size());
+        assertEquals(Map.of("initialBalance", "must be greater than or equal to 0"), results.get(1).getErrors());
+        assertNull(results.get(1).getResult());
+        for (int index : new int[]{0, 2}) {
+            BatchItemResult<Account> result = results.get(index);
+            assertEquals(index, result.getIndex());
+            assertNull(result.getErrors());
+            assertEquals(accountDtos.get(index).getAccountHolderName(), result.getResult().getAccountHolderName());
+            assertTrue(accountRepository.findAccountEntityByAccountNumber(result.getResult().getAccountNumber()).isPresent());
+        }
+        assertEquals(2, accountRepository.count());
+    }
+
+    @DisplayName("Should report write errors by index and insert remaining accounts")
+    @Test
+    public void shouldReportWriteErrorsByIndex() {
+        String accountNumber = generateAccountNumber();
+        accountRepository.save(createAccountEntity(accountNumber, AccountType.PAYMENT));
+
+        Map<Integer, String> writeErrors = accountRepository.insertAll(List.of(
+                createAccountEntity(generateAccountNumber(), AccountType.SAVINGS),
+                createAccountEntity(accountNumber, AccountType.SAVINGS),
+                createAccountEntity(generateAccountNumber(), AccountType.PAYMENT)
+        ));
+
+        assertEquals(Set.of(1), writeErrors.keySet());
+        assertEquals(3, accountRepository.count());
+    }
+
+    @DisplayName("Should serve repeated account lookups from cache")
+    @Test
+    public void shouldServeRepeatedAccountLookupsFromCache() {
+        String accountNumber = generateAccountNumber();
+        accountRepository.save(createAccountEntity(accountNumber, AccountType.PAYMENT));
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(ACCOUNTS_CACHE);
+        assertNotNull(cache);
+        long hitCount = cache.getNativeCache().stats().hitCount();
+
+        Account account = accountService.getAccount(accountNumber);
+        accountRepository.deleteAll();
+        Account cachedAccount = accountService.getAccount(accountNumber);
+
+        assertEquals(account, cachedAccount);
+        assertEquals(hitCount + 1, cache.getNativeCache().stats().hitCount());
+    }
+
+    @DisplayName("Should serve versioned account lookups from the cache shared with account lookups")
+    @Test
+    public void shouldServeVersionedAccountLookupsFromCache() {
+        String accountNumber = generateAccountNumber();
+        accountRepository.save(createAccountEntity(accountNumber, AccountType.PAYMENT));
+
+        Account account = accountService.getAccount(accountNumber);
+        accountRepository.deleteAll();
+        Versioned<Account> cachedAccount = accountService.getVersionedAccount(accountNumber);
+
+        assertEquals("0", cachedAccount.getVersion());
+        assertEquals(account, cachedAccount.getValue());
+    }
+
+    @DisplayName("Should put created account into cache")
+    @Test
+    public void shouldPutCreatedAccountIntoCache() {
+        Account savedAccount = accountService.createAccount(createAccountDto(AccountType.SAVINGS));
+
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(ACCOUNTS_CACHE);
+        assertNotNull(cache);
+        Versioned<?> cachedAccount = cache.get(savedAccount.getAccountNumber(), Versioned.class);
+        assertNotNull(cachedAccount);
+        assertEquals("0", cachedAccount.getVersion());
+        assertEquals(savedAccount, cachedAccount.getValue());
+    }
+
+    @DisplayName("Should record service, repository and Mongo command metrics")
+    @Test
+    public void shouldRecordMetrics() {
+        accountRepository.saveAll(createAccountEntities());
+
+        accountService.getAccounts(null, 3);
+
+        Timer serviceTimer = meterRegistry.find(SERVICE_TIMER).tag("method", "getAccounts").timer();
+        assertNotNull(serviceTimer);
+        assertTrue(serviceTimer.count() > 0);
+        assertEquals(3, meterRegistry.get(RESULT_SIZE_SUMMARY).tag("method", "getAccountsSlice").summary().totalAmount());
+        assertNotNull(meterRegistry.find("spring.data.repository.invocations").tag("method", "findAllByOrderById").timer());
+        assertNotNull(meterRegistry.find("mongodb.driver.commands").tag("command", "find").timer());
+    }
 }
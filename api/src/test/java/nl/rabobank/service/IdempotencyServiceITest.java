@@ -0,0 +1,161 @@
+package nl.rabobank.service;
+
+import nl.rabobank.model.IdempotentResponse;
+import nl.rabobank.mongo.model.IdempotencyRecordEntity;
+import nl.rabobank.mongo.repository.IdempotencyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@DirtiesContext
+@ActiveProfiles(profiles = {MONGO_DATA_PROFILE})
+public class IdempotencyServiceITest {
+
+    private static final String FINGERPRINT = "fingerprint";
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private IdempotencyRepository idempotencyRepository;
+
+    @AfterEach
+    public void after() {
+        idempotencyRepository.deleteAll();
+    }
+
+    @DisplayName("Should report a reservation in progress until it expires")
+    @Test
+    public void shouldRejectReservationInProgress() {
+        String key = UUID.randomUUID().toString();
+
+        assertTrue(idempotencyService.reserve(key, "first", FINGERPRINT).isEmpty());
+        Optional<IdempotentResponse> previous = idempotencyService.reserve(key, "second", FINGERPRINT);
+
+        assertTrue(previous.isPresent());
+        assertFalse(previous.get().isCompleted());
+        assertEquals("first", idempotencyRepository.findById(key).orElseThrow().getOwner());
+    }
+
+    @DisplayName("Should take over an expired reservation and keep it from the previous owner")
+    @Test
+    public void shouldTakeOverExpiredReservation() {
+        String key = UUID.randomUUID().toString();
+        assertTrue(idempotencyService.reserve(key, "first", FINGERPRINT).isEmpty());
+        expire(key);
+
+        assertTrue(idempotencyService.reserve(key, "second", FINGERPRINT).isEmpty());
+        idempotencyService.complete(key, "first", response("first"));
+        idempotencyService.release(key, "first");
+
+        IdempotencyRecordEntity record = idempotencyRepository.findById(key).orElseThrow();
+        assertEquals("second", record.getOwner());
+        assertFalse(record.isCompleted());
+
+        idempotencyService.complete(key, "second", response("second"));
+
+        IdempotentResponse replayed = idempotencyService.reserve(key, "third", FINGERPRINT).orElseThrow();
+        assertArrayEquals("second".getBytes(StandardCharsets.UTF_8), replayed.getBody());
+        assertTrue(idempotencyRepository.findById(key).orElseThrow().getExpiresAt().isAfter(Instant.now()));
+    }
+
+    @DisplayName("Should reserve a key again once its stored response expired before the TTL monitor removed it")
+    @Test
+    public void shouldReserveExpiredResponse() {
+        String key = UUID.randomUUID().toString();
+        idempotencyRepository.insert(IdempotencyRecordEntity.builder()
+                .id(key)
+                .owner("first")
+                .fingerprint("other fingerprint")
+                .status(201)
+                .body(new byte[]{1})
+                .expiresAt(Instant.now().minusSeconds(1))
+                .build());
+
+        assertTrue(idempotencyService.reserve(key, "second", FINGERPRINT).isEmpty());
+
+        IdempotencyRecordEntity record = idempotencyRepository.findById(key).orElseThrow();
+        assertEquals("second", record.getOwner());
+        assertEquals(FINGERPRINT, record.getFingerprint());
+        assertFalse(record.isCompleted());
+    }
+
+    @DisplayName("Should not replay a cached response after its stored record expired")
+    @Test
+    public void shouldExpireCachedResponseWithRecord() throws InterruptedException {
+        String key = UUID.randomUUID().toString();
+        Instant expiresAt = Instant.now().plusMillis(500);
+        idempotencyRepository.insert(IdempotencyRecordEntity.builder()
+                .id(key)
+                .owner("first")
+                .fingerprint(FINGERPRINT)
+                .status(201)
+                .body(new byte[]{1})
+                .expiresAt(expiresAt)
+                .build());
+
+        assertTrue(idempotencyService.reserve(key, "second", FINGERPRINT).orElseThrow().isCompleted());
+        idempotencyRepository.deleteById(key);
+        Thread.sleep(Math.max(0, Duration.between(Instant.now(), expiresAt).toMillis() + 100));
+
+        assertTrue(idempotencyService.reserve(key, "third", FINGERPRINT).isEmpty());
+    }
+
+    @DisplayName("Should renew only the owner's reservation")
+    @Test
+    public void shouldRenewOwnReservation() {
+        String key = UUID.randomUUID().toString();
+        assertTrue(idempotencyService.reserve(key, "first", FINGERPRINT).isEmpty());
+        expire(key);
+
+        assertFalse(idempotencyService.renew(key, "second"));
+        assertTrue(idempotencyService.renew(key, "first"));
+
+        assertTrue(idempotencyRepository.findById(key).orElseThrow().getExpiresAt().isAfter(Instant.now()));
+        assertTrue(idempotencyService.reserve(key, "second", FINGERPRINT).isPresent());
+    }
+
+    @DisplayName("Should release only the owner's reservation")
+    @Test
+    public void shouldReleaseOwnReservation() {
+        String key = UUID.randomUUID().toString();
+        assertTrue(idempotencyService.reserve(key, "first", FINGERPRINT).isEmpty());
+
+        idempotencyService.release(key, "second");
+        assertTrue(idempotencyRepository.existsById(key));
+
+        idempotencyService.release(key, "first");
+        assertFalse(idempotencyRepository.existsById(key));
+    }
+
+    private void expire(String key) {
+        idempotencyRepository.save(idempotencyRepository.findById(key).orElseThrow().toBuilder()
+                .expiresAt(Instant.now().minusSeconds(1))
+                .build());
+    }
+
+    private static IdempotentResponse response(String body) {
+        return IdempotentResponse.builder()
+                .fingerprint(FINGERPRINT)
+                .status(201)
+                .contentType("application/json")
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+}
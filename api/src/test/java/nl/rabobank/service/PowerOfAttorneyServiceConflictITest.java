@@ -0,0 +1,113 @@
+package nl.rabobank.service;
+
+import com.mongodb.client.MongoClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.model.CreatePowerOfAttorneyDto;
+import nl.rabobank.mongo.model.GrantEntity;
+import nl.rabobank.mongo.repository.AccountRepository;
+import nl.rabobank.mongo.repository.GrantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static nl.rabobank.config.MetricsConfiguration.SERVICE_RETRIES_COUNTER;
+import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+import static nl.rabobank.util.AccountTestDataUtils.createAccountEntity;
+import static nl.rabobank.util.PowerOfAttorneyTestDataUtils.createPowerOfAttorneyDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the embedded server as a single node replica set, so grants are written in MongoDB transactions. Skipped
+ * against a server without transactions.
+ */
+@SpringBootTest(properties = {
+        "de.flapdoodle.mongodb.embedded.storage.repl-set-name=rs0",
+        "mongo.client.transactions.enabled=true",
+        "conflict-retry.max-attempts=10",
+        "conflict-retry.initial-backoff=20ms"
+})
+@DirtiesContext
+@ActiveProfiles(profiles = {MONGO_DATA_PROFILE})
+public class PowerOfAttorneyServiceConflictITest {
+
+    private static final long TIMEOUT_SECONDS = 30;
+
+    @Autowired
+    private PowerOfAttorneyService powerOfAttorneyService;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private GrantRepository grantRepository;
+    @Autowired
+    private MongoClient mongoClient;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void before() {
+        assumeTrue(mongoClient.getClusterDescription().getServerDescriptions().stream()
+                .anyMatch(server -> server.getSetName() != null), "transactions need a replica set");
+    }
+
+    @AfterEach
+    public void after() {
+        accountRepository.deleteAll();
+        grantRepository.deleteAll();
+    }
+
+    @DisplayName("Should retry a grant conflicting with a concurrent transaction on the same grant")
+    @Test
+    public void shouldRetryConflictingGrant() throws Exception {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(Authorization.READ);
+        powerOfAttorneyDto.setValidUntil(Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS));
+        accountRepository.save(createAccountEntity(powerOfAttorneyDto.getAccountNumber(), powerOfAttorneyDto.getGrantor(), AccountType.PAYMENT, 0));
+        Counter retries = meterRegistry.counter(SERVICE_RETRIES_COUNTER, "method", "grantAccess");
+        double retriesBefore = retries.count();
+
+        // holds an uncommitted write of the same grant until grantAccess conflicted with it
+        CountDownLatch written = new CountDownLatch(1);
+        CompletableFuture<Void> concurrent = CompletableFuture.runAsync(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            grantRepository.addGrant(GrantEntity.builder()
+                    .granteeName(powerOfAttorneyDto.getGrantee())
+                    .authorization(powerOfAttorneyDto.getAuthorization())
+                    .accountNumber(powerOfAttorneyDto.getAccountNumber())
+                    .build());
+            written.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            while (retries.count() == retriesBefore && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+        }));
+        assertTrue(written.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        powerOfAttorneyService.grantAccess(powerOfAttorneyDto);
+        concurrent.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertTrue(retries.count() > retriesBefore);
+        List<GrantEntity> grants = grantRepository.findByGranteeName(powerOfAttorneyDto.getGrantee());
+        assertEquals(1, grants.size());
+        // the retry ran after the concurrent transaction committed and replaced its permanent validity
+        assertEquals(powerOfAttorneyDto.getValidUntil(), grants.get(0).getValidUntil());
+    }
+}
@@ -1,15 +1,24 @@
 package nl.rabobank.service;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import nl.rabobank.account.Account;
 import nl.rabobank.account.AccountType;
 import nl.rabobank.authorizations.Authorization;
 import nl.rabobank.authorizations.PowerOfAttorney;
+import nl.rabobank.cache.GranteeCache;
 import nl.rabobank.exception.AccountNotFoundException;
 import nl.rabobank.exception.PowerOfAttorneySecurityException;
+import nl.rabobank.model.BatchItemResult;
 import nl.rabobank.model.CreatePowerOfAttorneyDto;
+import nl.rabobank.model.Versioned;
 import nl.rabobank.mongo.model.AccountEntity;
-import nl.rabobank.mongo.model.PowerOfAttorneyGrantee;
+import nl.rabobank.mongo.model.GrantEntity;
 import nl.rabobank.mongo.repository.AccountRepository;
+import nl.rabobank.mongo.repository.GrantRepository;
+import nl.rabobank.util.MetricsUtils;
+import org.bson.Document;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -19,23 +28,42 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.util.Pair;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static nl.rabobank.config.CacheConfiguration.ACCOUNTS_CACHE;
 import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
 import static nl.rabobank.util.AccountTestDataUtils.createAccountEntity;
 import static nl.rabobank.util.AccountUtils.generateAccountNumber;
 import static nl.rabobank.util.PowerOfAttorneyTestDataUtils.createPowerOfAttorneyDto;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 
 @SpringBootTest
+@DirtiesContext
 @ActiveProfiles(profiles = {MONGO_DATA_PROFILE})
 public class PowerOfAttorneyServiceITest {
 
@@ -44,13 +72,36 @@ public class PowerOfAttorneyServiceITest {
     @Autowired
     private AccountRepository accountRepository;
     @Autowired
+    private GrantRepository grantRepository;
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
     private Converter<AccountEntity, Account> toAccountConverter;
     @Autowired
-    private Converter<Pair<List<AccountEntity>, String>, List<PowerOfAttorney>> toPowerOfAttorneys;
+    private Converter<Pair<List<AccountEntity>, List<GrantEntity>>, List<PowerOfAttorney>> toPowerOfAttorneys;
+    @SpyBean
+    private GranteeCache granteeCache;
+
+    private DistributionSummary resultSizeSummary(String method) {
+        return MetricsUtils.resultSizeSummary(meterRegistry, method);
+    }
+
+    private long countMongoFinds() {
+        return meterRegistry.find("mongodb.driver.commands").tag("command", "find").timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
 
     @AfterEach
     public void after() {
         accountRepository.deleteAll();
+        grantRepository.deleteAll();
     }
 
     @DisplayName("Should create Power Of Attorney for Saving and Payment accounts")
@@ -58,7 +109,7 @@ public class PowerOfAttorneyServiceITest {
     @MethodSource("nl.rabobank.util.PowerOfAttorneyTestDataUtils#source")
     public void shouldGrantAccess(Authorization authorization, AccountType accountType) {
         CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(authorization);
-        AccountEntity account = accountRepository.save(createAccountEntity(powerOfAttorneyDto.getAccountNumber(), powerOfAttorneyDto.getGrantor(), accountType, 0.));
+        AccountEntity account = accountRepository.save(createAccountEntity(powerOfAttorneyDto.getAccountNumber(), powerOfAttorneyDto.getGrantor(), accountType, 0));
 
         PowerOfAttorney powerOfAttorney = powerOfAttorneyService.grantAccess(powerOfAttorneyDto);
 
@@ -71,17 +122,164 @@ public class PowerOfAttorneyServiceITest {
         assertEquals(powerOfAttorneyDto.getAccountNumber(), grantedAccount.getAccountNumber());
         assertEquals(account.getBalance(), grantedAccount.getBalance());
 
-        List<AccountEntity> accounts = accountRepository.findAccountEntityByPowerOfAttorneys_GranteeNameOrderById(powerOfAttorneyDto.getGrantee());
-        assertEquals(1, accounts.size());
+        assertFalse(accountDocument(powerOfAttorneyDto.getAccountNumber()).containsKey("powerOfAttorneys"));
+
+        List<GrantEntity> grants = grantRepository.findByGranteeName(powerOfAttorneyDto.getGrantee());
+        assertEquals(1, grants.size());
+        assertEquals(powerOfAttorneyDto.getAccountNumber(), grants.get(0).getAccountNumber());
+        assertEquals(authorization, grants.get(0).getAuthorization());
+    }
+
+    @DisplayName("Should exclude expired grants from grantee queries until a renewal without validity")
+    @Test
+    public void shouldExcludeExpiredGrants() {
+        CreatePowerOfAttorneyDto valid = createPowerOfAttorneyDto(Authorization.READ);
+        valid.setValidUntil(Instant.now().plusSeconds(3600));
+        CreatePowerOfAttorneyDto expired = createPowerOfAttorneyDto(Authorization.READ);
+        expired.setGrantee(valid.getGrantee());
+        accountRepository.save(createAccountEntity(valid.getAccountNumber(), valid.getGrantor(), AccountType.PAYMENT, 0));
+        accountRepository.save(createAccountEntity(expired.getAccountNumber(), expired.getGrantor(), AccountType.SAVINGS, 0));
+        powerOfAttorneyService.grantAccess(valid);
+        powerOfAttorneyService.grantAccess(expired);
+        grantRepository.addGrant(GrantEntity.builder()
+                .granteeName(expired.getGrantee())
+                .authorization(expired.getAuthorization())
+                .accountNumber(expired.getAccountNumber())
+                .validUntil(Instant.now().minusSeconds(1))
+                .build());
+
+        List<PowerOfAttorney> powerOfAttorneys = powerOfAttorneyService.getPowerOfAttorneys(valid.getGrantee());
+        assertEquals(1, powerOfAttorneys.size());
+        assertEquals(valid.getAccountNumber(), powerOfAttorneys.get(0).getAccount().getAccountNumber());
+        assertEquals(valid.getValidUntil().toEpochMilli(), powerOfAttorneys.get(0).getValidUntil().toEpochMilli());
+        assertEquals(1, powerOfAttorneyService.getGrantedAccounts(valid.getGrantee()).size());
+        assertEquals(1, powerOfAttorneyService.getGrantedAccounts(valid.getGrantee(), Authorization.READ).size());
+
+        powerOfAttorneyService.grantAccess(expired);
+
+        assertEquals(2, powerOfAttorneyService.getGrantedAccounts(valid.getGrantee()).size());
+        assertNull(powerOfAttorneyService.getPowerOfAttorneys(valid.getGrantee()).stream()
+                .filter(powerOfAttorney -> powerOfAttorney.getAccount().getAccountNumber().equals(expired.getAccountNumber()))
+                .findFirst().orElseThrow()
+                .getValidUntil());
+    }
+
+    @DisplayName("Should share one Mongo query between concurrent identical grantee queries")
+    @Test
+    public void shouldCoalesceConcurrentGranteeQueries() throws Exception {
+        int requests = 64;
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(Authorization.READ);
+        accountRepository.save(createAccountEntity(powerOfAttorneyDto.getAccountNumber(), powerOfAttorneyDto.getGrantor(), AccountType.PAYMENT, 0));
+        powerOfAttorneyService.grantAccess(powerOfAttorneyDto);
+        // the first caller runs the queries only once every caller looked up the cache and joins it
+        CountDownLatch entered = new CountDownLatch(requests);
+        doAnswer(invocation -> {
+            entered.countDown();
+            return invocation.callRealMethod();
+        }).when(granteeCache).get(any(), any());
+        doAnswer(invocation -> {
+            assertTrue(entered.await(30, TimeUnit.SECONDS));
+            return invocation.callRealMethod();
+        }).when(granteeCache).version();
+        long findsBefore = countMongoFinds();
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<List<Account>>> results = Stream.generate(() -> executor.submit(() -> {
+                        start.await();
+                        return powerOfAttorneyService.getGrantedAccounts(powerOfAttorneyDto.getGrantee());
+                    }))
+                    .limit(requests)
+                    .collect(Collectors.toList());
+            start.countDown();
+            for (Future<List<Account>> result : results) {
+                assertEquals(powerOfAttorneyDto.getAccountNumber(), result.get(30, TimeUnit.SECONDS).get(0).getAccountNumber());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // one find on grants and one on accounts, shared by all callers
+        assertEquals(2, countMongoFinds() - findsBefore);
+    }
+
+    @DisplayName("Should keep the grantee version until a grant changes")
+    @Test
+    public void shouldChangeGranteeVersionOnGrant() {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(Authorization.READ);
+        accountRepository.save(createAccountEntity(powerOfAttorneyDto.getAccountNumber(), powerOfAttorneyDto.getGrantor(), AccountType.PAYMENT, 0));
+        powerOfAttorneyService.grantAccess(powerOfAttorneyDto);
+        String version = powerOfAttorneyService.getVersionedGrantedAccounts(powerOfAttorneyDto.getGrantee()).getVersion();
+
+        assertEquals(version, powerOfAttorneyService.getVersionedGrantedAccounts(powerOfAttorneyDto.getGrantee()).getVersion());
+
+        powerOfAttorneyDto.setAuthorization(Authorization.WRITE);
+        powerOfAttorneyService.grantAccess(powerOfAttorneyDto);
+        Versioned<List<Account>> accounts = powerOfAttorneyService.getVersionedGrantedAccounts(powerOfAttorneyDto.getGrantee());
+
+        assertNotEquals(version, accounts.getVersion());
+        assertEquals(1, accounts.getValue().size());
+    }
+
+    @DisplayName("Should grant access in batch and return per item outcomes in input order")
+    @Test
+    public void shouldGrantAccessesInBatch() {
+        CreatePowerOfAttorneyDto granted = createPowerOfAttorneyDto(Authorization.READ);
+        CreatePowerOfAttorneyDto notOwnAccount = createPowerOfAttorneyDto(Authorization.WRITE);
+        CreatePowerOfAttorneyDto missingAccount = createPowerOfAttorneyDto(Authorization.READ);
+        CreatePowerOfAttorneyDto sameGrantee = createPowerOfAttorneyDto(Authorization.READ);
+        sameGrantee.setGrantee(sameGrantee.getGrantor());
+        CreatePowerOfAttorneyDto invalid = createPowerOfAttorneyDto(Authorization.READ);
+        invalid.setAuthorization(null);
+        AccountEntity account = accountRepository.save(createAccountEntity(granted.getAccountNumber(), granted.getGrantor(), AccountType.PAYMENT, 1_000));
+        accountRepository.save(createAccountEntity(notOwnAccount.getAccountNumber(), "other Holder", AccountType.SAVINGS, 0));
+
+        List<BatchItemResult<PowerOfAttorney>> results = powerOfAttorneyService.grantAccesses(List.of(granted, notOwnAccount, missingAccount, sameGrantee, invalid));
+
+        assertEquals(5, results.size());
+        assertNull(results.get(0).getErrors());
+        assertEquals(toAccountConverter.convert(account), results.get(0).getResult().getAccount());
+        assertEquals(granted.getGrantee(), results.get(0).getResult().getGranteeName());
+        assertEquals(Map.of("grantor", "Grantor can give access only for own account"), results.get(1).getErrors());
+        assertEquals(Map.of("accountNumber", "Cannot find account by account number: " + missingAccount.getAccountNumber()), results.get(2).getErrors());
+        assertEquals(Map.of("grantee", "Grantor cannot give access to himself/herself"), results.get(3).getErrors());
+        assertEquals(Map.of("authorization", "must not be null"), results.get(4).getErrors());
+
+        List<GrantEntity> grants = grantRepository.findByGranteeName(granted.getGrantee());
+        assertEquals(1, grants.size());
+        assertEquals(granted.getAccountNumber(), grants.get(0).getAccountNumber());
+        assertEquals(1, grantRepository.count());
+    }
+
+    @DisplayName("Should grant the same access only once")
+    @ParameterizedTest(name = "{index} Authorization: {0}")
+    @EnumSource(value = Authorization.class)
+    public void shouldGrantSameAccessOnlyOnce(Authorization authorization) {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(authorization);
+        accountRepository.save(createAccountEntity(powerOfAttorneyDto.getAccountNumber(), powerOfAttorneyDto.getGrantor(), AccountType.PAYMENT, 0));
+
+        powerOfAttorneyService.grantAccess(powerOfAttorneyDto);
+        powerOfAttorneyService.grantAccess(powerOfAttorneyDto);
+
+        assertEquals(1, grantRepository.findByGranteeName(powerOfAttorneyDto.getGrantee()).size());
+        assertEquals(0L, accountRepository.findAccountEntityByAccountNumber(powerOfAttorneyDto.getAccountNumber()).orElseThrow().getVersion());
+    }
 
-        AccountEntity granteeAccount = accounts.get(0);
-        assertNotNull(granteeAccount);
+    @DisplayName("Should keep granted account cached, grants do not change it")
+    @ParameterizedTest(name = "{index} Authorization: {0}")
+    @EnumSource(value = Authorization.class)
+    public void shouldKeepGrantedAccountCached(Authorization authorization) {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(authorization);
+        accountRepository.save(createAccountEntity(powerOfAttorneyDto.getAccountNumber(), powerOfAttorneyDto.getGrantor(), AccountType.PAYMENT, 0));
+        accountService.getAccount(powerOfAttorneyDto.getAccountNumber());
+        Cache cache = cacheManager.getCache(ACCOUNTS_CACHE);
+        assertNotNull(cache);
+        assertNotNull(cache.get(powerOfAttorneyDto.getAccountNumber()));
 
-        assertEquals(powerOfAttorneyDto.getGrantor(), granteeAccount.getAccountHolderName());
-        assertEquals(powerOfAttorneyDto.getAccountNumber(), granteeAccount.getAccountNumber());
-        assertEquals(account.getBalance(), granteeAccount.getBalance());
+        powerOfAttorneyService.grantAccess(powerOfAttorneyDto);
 
-        assertTrue(granteeAccount.getPowerOfAttorneys().contains(new PowerOfAttorneyGrantee(powerOfAttorneyDto.getGrantee(), authorization)));
+        assertNotNull(cache.get(powerOfAttorneyDto.getAccountNumber()));
     }
 
     @DisplayName("Should return PowerOfAttorneySecurityException in case of same Grantor and Grantee")
@@ -103,7 +301,7 @@ public class PowerOfAttorneyServiceITest {
     @MethodSource("nl.rabobank.util.PowerOfAttorneyTestDataUtils#source")
     public void shouldReturnSecurityExceptionInCaseOfGrantingToNotOwnAccount(Authorization authorization, AccountType accountType) {
         CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(authorization);
-        accountRepository.save(createAccountEntity(powerOfAttorneyDto.getAccountNumber(), "other Holder", accountType, 0.));
+        accountRepository.save(createAccountEntity(powerOfAttorneyDto.getAccountNumber(), "other Holder", accountType, 0));
 
         PowerOfAttorneySecurityException thrown = Assertions.assertThrows(PowerOfAttorneySecurityException.class, () ->
                 powerOfAttorneyService.grantAccess(powerOfAttorneyDto)
@@ -129,15 +327,15 @@ public class PowerOfAttorneyServiceITest {
     public void shouldFetchGrantedAccounts() {
         String grantee = "grantee";
 
-        AccountEntity ownAccount = accountRepository.save(createAccountEntity(generateAccountNumber(), grantee, AccountType.SAVINGS, 100.));
-        AccountEntity account1 = accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder1", AccountType.SAVINGS, 100.));
-        AccountEntity account2 = accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder2", AccountType.PAYMENT, 100.));
-        accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder3", AccountType.SAVINGS, 100.));
+        AccountEntity ownAccount = accountRepository.save(createAccountEntity(generateAccountNumber(), grantee, AccountType.SAVINGS, 10_000));
+        AccountEntity account1 = accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder1", AccountType.SAVINGS, 10_000));
+        AccountEntity account2 = accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder2", AccountType.PAYMENT, 10_000));
+        accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder3", AccountType.SAVINGS, 10_000));
 
-        accountRepository.save(account1.addGrantee(new PowerOfAttorneyGrantee(ownAccount.getAccountHolderName(), Authorization.READ)));
-        accountRepository.save(account1.addGrantee(new PowerOfAttorneyGrantee(account2.getAccountHolderName(), Authorization.READ)));
-        accountRepository.save(account2.addGrantee(new PowerOfAttorneyGrantee(ownAccount.getAccountHolderName(), Authorization.READ)));
-        accountRepository.save(account2.addGrantee(new PowerOfAttorneyGrantee(ownAccount.getAccountHolderName(), Authorization.WRITE)));
+        grant(account1, ownAccount.getAccountHolderName(), Authorization.READ);
+        grant(account1, account2.getAccountHolderName(), Authorization.READ);
+        grant(account2, ownAccount.getAccountHolderName(), Authorization.READ);
+        grant(account2, ownAccount.getAccountHolderName(), Authorization.WRITE);
 
         List<Account> expected = Stream.of(account1, account2).map(toAccountConverter::convert).collect(Collectors.toList());
 
@@ -151,15 +349,15 @@ public class PowerOfAttorneyServiceITest {
     public void shouldFetchGrantedAccountsByAuthorization() {
         String grantee = "grantee";
 
-        AccountEntity ownAccount = accountRepository.save(createAccountEntity(generateAccountNumber(), grantee, AccountType.SAVINGS, 100.));
-        AccountEntity account1 = accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder1", AccountType.SAVINGS, 100.));
-        AccountEntity account2 = accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder2", AccountType.PAYMENT, 100.));
-        accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder3", AccountType.SAVINGS, 100.));
+        AccountEntity ownAccount = accountRepository.save(createAccountEntity(generateAccountNumber(), grantee, AccountType.SAVINGS, 10_000));
+        AccountEntity account1 = accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder1", AccountType.SAVINGS, 10_000));
+        AccountEntity account2 = accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder2", AccountType.PAYMENT, 10_000));
+        accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder3", AccountType.SAVINGS, 10_000));
 
-        accountRepository.save(account1.addGrantee(new PowerOfAttorneyGrantee(ownAccount.getAccountHolderName(), Authorization.READ)));
-        accountRepository.save(account1.addGrantee(new PowerOfAttorneyGrantee(account2.getAccountHolderName(), Authorization.READ)));
-        accountRepository.save(account2.addGrantee(new PowerOfAttorneyGrantee(ownAccount.getAccountHolderName(), Authorization.READ)));
-        accountRepository.save(account2.addGrantee(new PowerOfAttorneyGrantee(ownAccount.getAccountHolderName(), Authorization.WRITE)));
+        grant(account1, ownAccount.getAccountHolderName(), Authorization.READ);
+        grant(account1, account2.getAccountHolderName(), Authorization.READ);
+        grant(account2, ownAccount.getAccountHolderName(), Authorization.READ);
+        grant(account2, ownAccount.getAccountHolderName(), Authorization.WRITE);
 
         List<Account> expected = Stream.of(account2).map(toAccountConverter::convert).collect(Collectors.toList());
 
@@ -168,26 +366,61 @@ public class PowerOfAttorneyServiceITest {
         assertEquals(expected, grantedAccounts);
     }
 
+    @DisplayName("Should record result sizes of grantee queries per method")
+    @Test
+    public void shouldRecordResultSizesPerMethod() {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(Authorization.READ);
+        accountRepository.save(createAccountEntity(powerOfAttorneyDto.getAccountNumber(), powerOfAttorneyDto.getGrantor(), AccountType.PAYMENT, 0));
+        powerOfAttorneyService.grantAccess(powerOfAttorneyDto);
+        DistributionSummary granted = resultSizeSummary("getGrantedAccounts");
+        DistributionSummary grantedByAuthorization = resultSizeSummary("getGrantedAccountsByAuthorization");
+        long grantedCount = granted.count();
+        double grantedTotal = granted.totalAmount();
+        long grantedByAuthorizationCount = grantedByAuthorization.count();
+        double grantedByAuthorizationTotal = grantedByAuthorization.totalAmount();
+
+        powerOfAttorneyService.getGrantedAccounts(powerOfAttorneyDto.getGrantee());
+        powerOfAttorneyService.getGrantedAccounts(powerOfAttorneyDto.getGrantee(), Authorization.WRITE);
+
+        assertEquals(grantedCount + 1, granted.count());
+        assertEquals(grantedTotal + 1, granted.totalAmount());
+        assertEquals(grantedByAuthorizationCount + 1, grantedByAuthorization.count());
+        assertEquals(grantedByAuthorizationTotal, grantedByAuthorization.totalAmount());
+    }
+
     @DisplayName("Should fetch Power Of Attorneys")
     @Test
     public void shouldFetchPowerOfAttorneys() {
         String grantee = "grantee";
 
-        AccountEntity ownAccount = accountRepository.save(createAccountEntity(generateAccountNumber(), grantee, AccountType.SAVINGS, 100.));
-        AccountEntity account1 = accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder1", AccountType.SAVINGS, 100.));
-        AccountEntity account2 = accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder2", AccountType.PAYMENT, 100.));
-        accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder3", AccountType.SAVINGS, 100.));
+        AccountEntity ownAccount = accountRepository.save(createAccountEntity(generateAccountNumber(), grantee, AccountType.SAVINGS, 10_000));
+        AccountEntity account1 = accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder1", AccountType.SAVINGS, 10_000));
+        AccountEntity account2 = accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder2", AccountType.PAYMENT, 10_000));
+        accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder3", AccountType.SAVINGS, 10_000));
 
-        account1 = accountRepository.save(account1.addGrantee(new PowerOfAttorneyGrantee(ownAccount.getAccountHolderName(), Authorization.READ)));
-        account1 = accountRepository.save(account1.addGrantee(new PowerOfAttorneyGrantee(account2.getAccountHolderName(), Authorization.READ)));
-        account2 = accountRepository.save(account2.addGrantee(new PowerOfAttorneyGrantee(ownAccount.getAccountHolderName(), Authorization.READ)));
-        account2 = accountRepository.save(account2.addGrantee(new PowerOfAttorneyGrantee(ownAccount.getAccountHolderName(), Authorization.WRITE)));
+        grant(account1, ownAccount.getAccountHolderName(), Authorization.READ);
+        grant(account1, account2.getAccountHolderName(), Authorization.READ);
+        grant(account2, ownAccount.getAccountHolderName(), Authorization.READ);
+        grant(account2, ownAccount.getAccountHolderName(), Authorization.WRITE);
 
-
-        List<PowerOfAttorney> expected = toPowerOfAttorneys.convert(Pair.of(List.of(account1, account2), grantee));
+        List<PowerOfAttorney> expected = toPowerOfAttorneys.convert(Pair.of(List.of(account1, account2), grantRepository.findByGranteeName(grantee)));
 
         List<PowerOfAttorney> powerOfAttorneys = powerOfAttorneyService.getPowerOfAttorneys(grantee);
         assertEquals(3, powerOfAttorneys.size());
         assertEquals(expected, powerOfAttorneys);
     }
+
+    private void grant(AccountEntity account, String granteeName, Authorization authorization) {
+        grantRepository.addGrant(GrantEntity.builder()
+                .granteeName(granteeName)
+                .authorization(authorization)
+                .accountNumber(account.getAccountNumber())
+                .build());
+    }
+
+    private Document accountDocument(String accountNumber) {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(AccountEntity.class))
+                .find(new Document("accountNumber", accountNumber))
+                .first();
+    }
 }
@@ -0,0 +1,101 @@
+package nl.rabobank.service;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.model.CreatePowerOfAttorneyDto;
+import nl.rabobank.mongo.model.GrantEntity;
+import nl.rabobank.mongo.repository.AccountRepository;
+import nl.rabobank.mongo.repository.GrantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+import static nl.rabobank.util.AccountTestDataUtils.createAccountEntity;
+import static nl.rabobank.util.PowerOfAttorneyTestDataUtils.createPowerOfAttorneyDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@SpringBootTest
+@DirtiesContext
+@ActiveProfiles(profiles = {MONGO_DATA_PROFILE})
+public class PowerOfAttorneyServiceStressITest {
+
+    private static final int GRANTS = 2_000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private PowerOfAttorneyService powerOfAttorneyService;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private GrantRepository grantRepository;
+
+    @AfterEach
+    public void after() {
+        accountRepository.deleteAll();
+        grantRepository.deleteAll();
+    }
+
+    @DisplayName("Should not lose concurrent grants on one account")
+    @Test
+    public void shouldNotLoseConcurrentGrants() throws Exception {
+        CreatePowerOfAttorneyDto hot = createPowerOfAttorneyDto(Authorization.READ);
+        accountRepository.save(createAccountEntity(hot.getAccountNumber(), hot.getGrantor(), AccountType.PAYMENT, 0));
+        List<CreatePowerOfAttorneyDto> grants = IntStream.range(0, GRANTS)
+                .mapToObj(i -> {
+                    CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(i % 2 == 0 ? Authorization.READ : Authorization.WRITE);
+                    powerOfAttorneyDto.setAccountNumber(hot.getAccountNumber());
+                    powerOfAttorneyDto.setGrantor(hot.getGrantor());
+                    powerOfAttorneyDto.setGrantee("Grantee " + i);
+                    return powerOfAttorneyDto;
+                })
+                .collect(Collectors.toList());
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long elapsed;
+        try {
+            List<Future<?>> results = grants.stream()
+                    .map(powerOfAttorneyDto -> executor.submit(() -> {
+                        start.await();
+                        powerOfAttorneyService.grantAccess(powerOfAttorneyDto);
+                        return null;
+                    }))
+                    .collect(Collectors.toList());
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+            elapsed = System.nanoTime() - started;
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("{} concurrent grants on one account by {} threads in {} ms, {} grants/s", GRANTS, THREADS,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), Math.round(GRANTS * 1e9 / elapsed));
+
+        List<GrantEntity> stored = grantRepository.findAll();
+        Set<String> grantees = stored.stream()
+                .filter(grant -> grant.getAccountNumber().equals(hot.getAccountNumber()))
+                .map(GrantEntity::getGranteeName)
+                .collect(Collectors.toSet());
+        assertEquals(GRANTS, stored.size());
+        assertEquals(GRANTS, grantees.size());
+    }
+}
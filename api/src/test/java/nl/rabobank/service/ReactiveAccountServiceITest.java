@@ -0,0 +1,127 @@
+package nl.rabobank.service;
+
+import com.mongodb.client.MongoClient;
+import nl.rabobank.account.Account;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.cache.GranteeCache;
+import nl.rabobank.exception.AccountNotFoundException;
+import nl.rabobank.model.CreateAccountDto;
+import nl.rabobank.mongo.model.AccountEntity;
+import nl.rabobank.filter.AccountNumberFilter;
+import nl.rabobank.mongo.repository.ReactiveAccountRepository;
+import nl.rabobank.util.MoneyUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
+import static nl.rabobank.util.AccountTestDataUtils.createAccountDto;
+import static nl.rabobank.util.AccountTestDataUtils.createAccountEntities;
+import static nl.rabobank.util.AccountTestDataUtils.createAccountEntity;
+import static nl.rabobank.util.AccountUtils.generateAccountNumber;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@DirtiesContext
+@ActiveProfiles(profiles = {MONGO_DATA_PROFILE, REACTIVE_PROFILE})
+public class ReactiveAccountServiceITest {
+
+    @Autowired
+    private ReactiveAccountRepository accountRepository;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ReactiveAccountService accountService;
+
+    @Autowired
+    private Converter<AccountEntity, Account> toAccountConverter;
+
+    @AfterEach
+    public void after() {
+        accountRepository.deleteAll().block();
+    }
+
+    @DisplayName("Should not create the blocking Mongo client and the beans using it")
+    @Test
+    public void shouldNotCreateBlockingBeans() {
+        assertTrue(applicationContext.getBeansOfType(MongoClient.class).isEmpty());
+        assertTrue(applicationContext.getBeansOfType(MongoTemplate.class).isEmpty());
+        assertTrue(applicationContext.getBeansOfType(AccountService.class).isEmpty());
+        assertTrue(applicationContext.getBeansOfType(PowerOfAttorneyService.class).isEmpty());
+        assertTrue(applicationContext.getBeansOfType(AccountNumberFilter.class).isEmpty());
+        assertTrue(applicationContext.getBeansOfType(GranteeCache.class).isEmpty());
+    }
+
+    @DisplayName("Should create Payment and Savings accounts")
+    @ParameterizedTest(name = "{index} Created Account Type: {0}")
+    @EnumSource(value = AccountType.class)
+    public void shouldCreateAccount(AccountType accountType) {
+        CreateAccountDto accountDto = createAccountDto(accountType);
+
+        StepVerifier.create(accountService.createAccount(accountDto))
+                .assertNext(savedAccount -> {
+                    assertEquals(accountDto.getAccountHolderName(), savedAccount.getAccountHolderName());
+                    assertEquals(MoneyUtils.toMinorUnits(accountDto.getInitialBalance()), savedAccount.getBalance());
+                    assertNotNull(savedAccount.getAccountNumber());
+                    assertNotNull(accountRepository.findAccountEntityByAccountNumber(savedAccount.getAccountNumber()).block());
+                })
+                .verifyComplete();
+    }
+
+    @DisplayName("Should fetch Payment and Savings account by account number")
+    @ParameterizedTest(name = "{index} Fetched Account Type: {0}")
+    @EnumSource(value = AccountType.class)
+    public void shouldFetchAccountByAccountNumber(AccountType accountType) {
+        String accountNumber = generateAccountNumber();
+        AccountEntity savedAccount = accountRepository.save(createAccountEntity(accountNumber, accountType)).block();
+
+        StepVerifier.create(accountService.getAccount(accountNumber))
+                .expectNext(toAccountConverter.convert(savedAccount))
+                .verifyComplete();
+    }
+
+    @DisplayName("Should signal AccountNotFoundException for not existed account")
+    @Test
+    public void shouldSignalExceptionForNotExistedAccountNumber() {
+        StepVerifier.create(accountService.getAccount("fake account number"))
+                .expectErrorMatches(error -> error instanceof AccountNotFoundException
+                        && error.getMessage().equals("Cannot find account by account number: fake account number"))
+                .verify();
+    }
+
+    @DisplayName("Should fetch Payment and Savings accounts in the requested order")
+    @Test
+    public void shouldFetchAccounts() {
+        List<AccountEntity> accounts = accountRepository.saveAll(createAccountEntities()).collectList().block();
+        List<Account> expected = accounts.stream()
+                .sorted(Comparator.comparing(AccountEntity::getBalance))
+                .limit(3)
+                .map(toAccountConverter::convert)
+                .collect(Collectors.toList());
+
+        StepVerifier.create(accountService.getAccounts(PageRequest.of(0, 3, Sort.by(Sort.Order.asc("balance")))).collectList())
+                .expectNext(expected)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,149 @@
+package nl.rabobank.service;
+
+import nl.rabobank.account.Account;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.authorizations.PowerOfAttorney;
+import nl.rabobank.exception.AccountNotFoundException;
+import nl.rabobank.exception.PowerOfAttorneySecurityException;
+import nl.rabobank.model.CreatePowerOfAttorneyDto;
+import nl.rabobank.mongo.model.AccountEntity;
+import nl.rabobank.mongo.model.GrantEntity;
+import nl.rabobank.mongo.repository.ReactiveAccountRepository;
+import nl.rabobank.mongo.repository.ReactiveGrantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
+import static nl.rabobank.util.AccountTestDataUtils.createAccountEntity;
+import static nl.rabobank.util.AccountUtils.generateAccountNumber;
+import static nl.rabobank.util.PowerOfAttorneyTestDataUtils.createPowerOfAttorneyDto;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@DirtiesContext
+@ActiveProfiles(profiles = {MONGO_DATA_PROFILE, REACTIVE_PROFILE})
+public class ReactivePowerOfAttorneyServiceITest {
+
+    @Autowired
+    private ReactivePowerOfAttorneyService powerOfAttorneyService;
+    @Autowired
+    private ReactiveAccountRepository accountRepository;
+    @Autowired
+    private ReactiveGrantRepository grantRepository;
+    @Autowired
+    private Converter<AccountEntity, Account> toAccountConverter;
+
+    @AfterEach
+    public void after() {
+        accountRepository.deleteAll().block();
+        grantRepository.deleteAll().block();
+    }
+
+    @DisplayName("Should create Power Of Attorney for Saving and Payment accounts")
+    @ParameterizedTest(name = "{index} Authorization: {0} granted to Account Type: {1}")
+    @MethodSource("nl.rabobank.util.PowerOfAttorneyTestDataUtils#source")
+    public void shouldGrantAccess(Authorization authorization, AccountType accountType) {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(authorization);
+        AccountEntity account = accountRepository.save(createAccountEntity(powerOfAttorneyDto.getAccountNumber(), powerOfAttorneyDto.getGrantor(), accountType, 0)).block();
+
+        StepVerifier.create(powerOfAttorneyService.grantAccess(powerOfAttorneyDto))
+                .assertNext(powerOfAttorney -> {
+                    assertEquals(powerOfAttorneyDto.getGrantor(), powerOfAttorney.getGrantorName());
+                    assertEquals(powerOfAttorneyDto.getGrantee(), powerOfAttorney.getGranteeName());
+                    assertEquals(authorization, powerOfAttorney.getAuthorization());
+                    assertEquals(toAccountConverter.convert(account), powerOfAttorney.getAccount());
+                })
+                .verifyComplete();
+
+        assertEquals(1, grantRepository.findByGranteeName(powerOfAttorneyDto.getGrantee()).count().block());
+        assertEquals(0L, accountRepository.findAccountEntityByAccountNumber(powerOfAttorneyDto.getAccountNumber()).block().getVersion());
+    }
+
+    @DisplayName("Should signal PowerOfAttorneySecurityException in case of same Grantor and Grantee")
+    @ParameterizedTest(name = "{index} Authorization: {0}")
+    @EnumSource(value = Authorization.class)
+    public void shouldSignalSecurityExceptionInCaseOfSameGrantorAndGrantee(Authorization authorization) {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(authorization);
+        powerOfAttorneyDto.setGrantee(powerOfAttorneyDto.getGrantor());
+
+        StepVerifier.create(powerOfAttorneyService.grantAccess(powerOfAttorneyDto))
+                .expectErrorMatches(error -> error instanceof PowerOfAttorneySecurityException
+                        && error.getMessage().equals("Grantor cannot give access to himself/herself"))
+                .verify();
+    }
+
+    @DisplayName("Should signal PowerOfAttorneySecurityException in case of granting to not own account")
+    @ParameterizedTest(name = "{index} Authorization: {0}")
+    @EnumSource(value = Authorization.class)
+    public void shouldSignalSecurityExceptionInCaseOfGrantingToNotOwnAccount(Authorization authorization) {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(authorization);
+        accountRepository.save(createAccountEntity(powerOfAttorneyDto.getAccountNumber(), "other Holder", AccountType.PAYMENT, 0)).block();
+
+        StepVerifier.create(powerOfAttorneyService.grantAccess(powerOfAttorneyDto))
+                .expectErrorMatches(error -> error instanceof PowerOfAttorneySecurityException
+                        && error.getMessage().equals("Grantor can give access only for own account"))
+                .verify();
+    }
+
+    @DisplayName("Should signal AccountNotFoundException in case of missing account")
+    @ParameterizedTest(name = "{index} Authorization: {0}")
+    @EnumSource(value = Authorization.class)
+    public void shouldSignalAccountNotFoundExceptionInCaseOfMissingAccount(Authorization authorization) {
+        CreatePowerOfAttorneyDto powerOfAttorneyDto = createPowerOfAttorneyDto(authorization);
+        powerOfAttorneyDto.setAccountNumber("fake number");
+
+        StepVerifier.create(powerOfAttorneyService.grantAccess(powerOfAttorneyDto))
+                .expectErrorMatches(error -> error instanceof AccountNotFoundException
+                        && error.getMessage().equals("Cannot find account by account number: fake number"))
+                .verify();
+    }
+
+    @DisplayName("Should fetch Granted Accounts and Power Of Attorneys By Grantee")
+    @Test
+    public void shouldFetchGrantedAccountsAndPowerOfAttorneys() {
+        String grantee = "grantee";
+
+        AccountEntity account1 = accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder1", AccountType.SAVINGS, 10_000)).block();
+        AccountEntity account2 = accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder2", AccountType.PAYMENT, 10_000)).block();
+        accountRepository.save(createAccountEntity(generateAccountNumber(), "Holder3", AccountType.SAVINGS, 10_000)).block();
+        grant(account1, grantee, Authorization.READ);
+        grant(account2, grantee, Authorization.READ);
+        grant(account2, grantee, Authorization.WRITE);
+
+        List<Account> expected = Stream.of(account1, account2).map(toAccountConverter::convert).collect(Collectors.toList());
+
+        StepVerifier.create(powerOfAttorneyService.getGrantedAccounts(grantee).collectList())
+                .expectNext(expected)
+                .verifyComplete();
+        StepVerifier.create(powerOfAttorneyService.getGrantedAccounts(grantee, Authorization.WRITE).collectList())
+                .expectNext(List.of(toAccountConverter.convert(account2)))
+                .verifyComplete();
+        StepVerifier.create(powerOfAttorneyService.getPowerOfAttorneys(grantee).map(PowerOfAttorney::getAuthorization).collectList())
+                .expectNext(List.of(Authorization.READ, Authorization.READ, Authorization.WRITE))
+                .verifyComplete();
+    }
+
+    private void grant(AccountEntity account, String granteeName, Authorization authorization) {
+        grantRepository.addGrant(GrantEntity.builder()
+                .granteeName(granteeName)
+                .authorization(authorization)
+                .accountNumber(account.getAccountNumber())
+                .build()).block();
+    }
+}
@@ -7,6 +7,7 @@ import nl.rabobank.account.SavingsAccount;
 import nl.rabobank.model.CreateAccountDto;
 import nl.rabobank.mongo.model.AccountEntity;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -20,32 +21,32 @@ public final class AccountTestDataUtils {
     public static CreateAccountDto createAccountDto(AccountType type) {
         CreateAccountDto accountDto = new CreateAccountDto();
         accountDto.setAccountHolderName(generateName("Name"));
-        accountDto.setInitialBalance(100.0);
+        accountDto.setInitialBalance(new BigDecimal("100.00"));
         accountDto.setType(type);
         return accountDto;
     }
 
     public static Account toAccount(CreateAccountDto accountDto) {
-        return createAccount(generateAccountNumber(), accountDto.getAccountHolderName(), accountDto.getInitialBalance(), accountDto.getType());
+        return createAccount(generateAccountNumber(), accountDto.getAccountHolderName(), MoneyUtils.toMinorUnits(accountDto.getInitialBalance()), accountDto.getType());
     }
 
     public static List<Account> createAccounts() {
         List<Account> accounts = new ArrayList<>();
         for (int i = 0; i < 5; i++) {
-            accounts.add(createPaymentAccount(generateAccountNumber(), generateName("Payment ", i), 100.0 + i));
-            accounts.add(createSavingsAccount(generateAccountNumber(), generateName("Savings ", i), 100.0 + i));
+            accounts.add(createPaymentAccount(generateAccountNumber(), generateName("Payment ", i), 10_000 + i));
+            accounts.add(createSavingsAccount(generateAccountNumber(), generateName("Savings ", i), 10_000 + i));
         }
         return accounts;
     }
 
     public static List<Account> createAccounts(String accountHolderName) {
         List<Account> accounts = new ArrayList<>();
-        accounts.add(createPaymentAccount(generateAccountNumber(), accountHolderName, 100.0));
-        accounts.add(createSavingsAccount(generateAccountNumber(), accountHolderName, 1000.0));
+        accounts.add(createPaymentAccount(generateAccountNumber(), accountHolderName, 10_000));
+        accounts.add(createSavingsAccount(generateAccountNumber(), accountHolderName, 100_000));
         return accounts;
     }
 
-    public static Account createAccount(String accountNumber, String accountHolderName, Double balance, AccountType type) {
+    public static Account createAccount(String accountNumber, String accountHolderName, long balance, AccountType type) {
         if (type == AccountType.SAVINGS) {
             return createSavingsAccount(accountNumber, accountHolderName, balance);
         }
@@ -53,14 +54,14 @@ public final class AccountTestDataUtils {
     }
 
     public static AccountEntity createAccountEntity(String accountNumber, AccountType accountType) {
-        return createAccountEntity(accountNumber, accountType, 100.);
+        return createAccountEntity(accountNumber, accountType, 10_000);
     }
 
-    public static AccountEntity createAccountEntity(String accountNumber, AccountType accountType, Double balance) {
+    public static AccountEntity createAccountEntity(String accountNumber, AccountType accountType, long balance) {
         return createAccountEntity(accountNumber, generateName("Holder name"), accountType, balance);
     }
 
-    public static AccountEntity createAccountEntity(String accountNumber, String accountHolderName, AccountType accountType, Double balance) {
+    public static AccountEntity createAccountEntity(String accountNumber, String accountHolderName, AccountType accountType, long balance) {
         return AccountEntity.builder()
                 .accountNumber(accountNumber)
                 .accountHolderName(accountHolderName)
@@ -71,18 +72,18 @@ public final class AccountTestDataUtils {
 
     public static List<AccountEntity> createAccountEntities() {
         return Arrays.asList(
-                createAccountEntity(generateAccountNumber(), AccountType.PAYMENT, 200.),
-                createAccountEntity(generateAccountNumber(), AccountType.SAVINGS, 250.),
-                createAccountEntity(generateAccountNumber(), AccountType.PAYMENT, 10.),
-                createAccountEntity(generateAccountNumber(), AccountType.SAVINGS, 230.)
+                createAccountEntity(generateAccountNumber(), AccountType.PAYMENT, 20_000),
+                createAccountEntity(generateAccountNumber(), AccountType.SAVINGS, 25_000),
+                createAccountEntity(generateAccountNumber(), AccountType.PAYMENT, 1_000),
+                createAccountEntity(generateAccountNumber(), AccountType.SAVINGS, 23_000)
         );
     }
 
-    private static Account createPaymentAccount(String accountNumber, String accountHolderName, Double balance) {
+    private static Account createPaymentAccount(String accountNumber, String accountHolderName, long balance) {
         return new PaymentAccount(accountNumber, accountHolderName, balance);
     }
 
-    private static Account createSavingsAccount(String accountNumber, String accountHolderName, Double balance) {
+    private static Account createSavingsAccount(String accountNumber, String accountHolderName, long balance) {
         return new SavingsAccount(accountNumber, accountHolderName, balance);
     }
 
@@ -33,7 +33,7 @@ public class PowerOfAttorneyTestDataUtils {
                 .grantorName(powerOfAttorneyDto.getGrantor())
                 .granteeName(powerOfAttorneyDto.getGrantee())
                 .authorization(powerOfAttorneyDto.getAuthorization())
-                .account(createAccount(powerOfAttorneyDto.getAccountNumber(), powerOfAttorneyDto.getGrantor(), 0., accountType))
+                .account(createAccount(powerOfAttorneyDto.getAccountNumber(), powerOfAttorneyDto.getGrantor(), 0, accountType))
                 .build();
     }
 
@@ -43,7 +43,7 @@ public class PowerOfAttorneyTestDataUtils {
                 .grantorName(grantorName)
                 .granteeName(grantee)
                 .authorization(authorization)
-                .account(createAccount(generateAccountNumber(), grantorName, 0., accountType))
+                .account(createAccount(generateAccountNumber(), grantorName, 0, accountType))
                 .build();
     }
 
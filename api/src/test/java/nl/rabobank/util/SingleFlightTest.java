@@ -0,0 +1,131 @@
+package nl.rabobank.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingleFlightTest {
+
+    private static final int FOLLOWERS = 8;
+
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+
+    @DisplayName("Should share the result of the in-flight call with concurrent callers of the same key")
+    @Test
+    public void shouldShareResult() throws Exception {
+        Object result = new Object();
+        AtomicInteger invocations = new AtomicInteger();
+
+        List<Object> results = runConcurrently(() -> {
+            invocations.incrementAndGet();
+            return result;
+        });
+
+        assertEquals(1, invocations.get());
+        results.forEach(value -> assertSame(result, value));
+    }
+
+    @DisplayName("Should rethrow the exception of the in-flight call to concurrent callers of the same key")
+    @Test
+    public void shouldShareException() throws Exception {
+        IllegalStateException exception = new IllegalStateException("failed");
+
+        List<Object> results = runConcurrently(() -> {
+            throw exception;
+        });
+
+        results.forEach(value -> assertSame(exception, value));
+    }
+
+    @DisplayName("Should not cache completed calls")
+    @Test
+    public void shouldNotCacheCompletedCalls() {
+        AtomicInteger invocations = new AtomicInteger();
+
+        singleFlight.execute("key", invocations::incrementAndGet);
+        singleFlight.execute("key", invocations::incrementAndGet);
+
+        assertEquals(2, invocations.get());
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException();
+        }));
+    }
+
+    /**
+     * Starts a leader blocked inside {@code supplier}, waits until all followers are parked on its call and releases it.
+     */
+    private List<Object> runConcurrently(Supplier<Object> supplier) throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+        List<Thread> followerThreads = new ArrayList<>();
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> call(() -> {
+                leaderStarted.countDown();
+                await(release);
+                return supplier.get();
+            })));
+            leaderStarted.await(10, TimeUnit.SECONDS);
+            for (int i = 0; i < FOLLOWERS; i++) {
+                futures.add(executor.submit(() -> {
+                    synchronized (followerThreads) {
+                        followerThreads.add(Thread.currentThread());
+                    }
+                    return call(supplier);
+                }));
+            }
+            waitUntilParked(followerThreads);
+            release.countDown();
+
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Object call(Supplier<Object> supplier) {
+        try {
+            return singleFlight.execute("key", supplier);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static void waitUntilParked(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            synchronized (threads) {
+                if (threads.size() == FOLLOWERS && threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+                    return;
+                }
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -8,4 +8,6 @@ public class ValidationUtils {
     public static final String NOT_BLANK_VALIDATION_MESSAGE = "must not be blank";
     public static final String NOT_NULL_VALIDATION_MESSAGE = "must not be null";
     public static final String POSITIVE_OR_ZERO_VALIDATION_MESSAGE = "must be greater than or equal to 0";
+    public static final String FUTURE_VALIDATION_MESSAGE = "must be a future date";
+    public static final String DIGITS_VALIDATION_MESSAGE = "numeric value out of bounds (<15 digits>.<2 digits> expected)";
 }
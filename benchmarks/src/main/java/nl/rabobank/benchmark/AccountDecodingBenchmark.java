@@ -0,0 +1,85 @@
+package nl.rabobank.benchmark;
+
+import nl.rabobank.account.Account;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.converter.AccountEntityToAccountConverter;
+import nl.rabobank.mongo.codec.AccountCodec;
+import nl.rabobank.mongo.model.AccountEntity;
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read path of a single account document: {@link AccountCodec} against Document -> AccountEntity -> Account.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountDecodingBenchmark {
+
+    private final AccountCodec accountCodec = new AccountCodec();
+    private final DocumentCodec documentCodec = new DocumentCodec();
+    private final Converter<AccountEntity, Account> toAccountConverter = new AccountEntityToAccountConverter();
+    private final DecoderContext decoderContext = DecoderContext.builder().build();
+
+    private MappingMongoConverter mappingMongoConverter;
+    private byte[] bson;
+
+    @Setup
+    public void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setInitialEntitySet(Set.of(AccountEntity.class));
+        mappingContext.afterPropertiesSet();
+        mappingMongoConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        mappingMongoConverter.afterPropertiesSet();
+
+        AccountEntity account = AccountEntity.builder()
+                .id("60c72b2f9b1d8b3a4c8e4f1a")
+                .accountNumber("0000123456789012345")
+                .accountHolderName("John Due")
+                .balance(123_456)
+                .type(AccountType.PAYMENT)
+                .build();
+        Document document = new Document();
+        mappingMongoConverter.write(account, document);
+        bson = new RawBsonDocument(document, documentCodec).getByteBuffer().array();
+    }
+
+    @Benchmark
+    public Account decodeWithCodec() {
+        return accountCodec.decode(reader(), decoderContext);
+    }
+
+    @Benchmark
+    public Account decodeWithMappingConverter() {
+        Document document = documentCodec.decode(reader(), decoderContext);
+        return toAccountConverter.convert(mappingMongoConverter.read(AccountEntity.class, document));
+    }
+
+    private BsonBinaryReader reader() {
+        return new BsonBinaryReader(ByteBuffer.wrap(bson));
+    }
+}
@@ -0,0 +1,83 @@
+package nl.rabobank.benchmark;
+
+import nl.rabobank.account.Account;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.authorizations.PowerOfAttorney;
+import nl.rabobank.converter.AccountEntityToAccountConverter;
+import nl.rabobank.converter.AccountsToPowerOfAttorneyConverter;
+import nl.rabobank.mongo.model.AccountEntity;
+import nl.rabobank.mongo.model.GrantEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.util.Pair;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int accountCount;
+
+    private final Converter<AccountEntity, Account> toAccountConverter = new AccountEntityToAccountConverter();
+    private final Converter<Pair<List<AccountEntity>, List<GrantEntity>>, List<PowerOfAttorney>> toPowerOfAttorneys =
+            new AccountsToPowerOfAttorneyConverter(toAccountConverter);
+
+    private AccountEntity account;
+    private Pair<List<AccountEntity>, List<GrantEntity>> accountsAndGrants;
+
+    @Setup
+    public void setUp() {
+        account = createAccount(0);
+
+        List<AccountEntity> accounts = IntStream.range(0, accountCount)
+                .mapToObj(ConverterBenchmark::createAccount)
+                .collect(Collectors.toList());
+        List<GrantEntity> grants = accounts.stream()
+                .map(grantedAccount -> GrantEntity.builder()
+                        .granteeName("grantee 0")
+                        .authorization(Authorization.READ)
+                        .accountNumber(grantedAccount.getAccountNumber())
+                        .build())
+                .collect(Collectors.toList());
+        accountsAndGrants = Pair.of(accounts, grants);
+    }
+
+    @Benchmark
+    public Account convertAccount() {
+        return toAccountConverter.convert(account);
+    }
+
+    @Benchmark
+    public List<PowerOfAttorney> convertPowerOfAttorneys() {
+        return toPowerOfAttorneys.convert(accountsAndGrants);
+    }
+
+    private static AccountEntity createAccount(int index) {
+        return AccountEntity.builder()
+                .accountNumber(String.format("%019d", index))
+                .accountHolderName("holder " + index)
+                .balance(10_000 + index)
+                .type(index % 2 == 0 ? AccountType.PAYMENT : AccountType.SAVINGS)
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package nl.rabobank.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.rabobank.account.Account;
+import nl.rabobank.account.PaymentAccount;
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.authorizations.PowerOfAttorney;
+import nl.rabobank.json.AccountJsonModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new AccountJsonModule())
+            .build();
+    private final Account account = new PaymentAccount("0000123456789012345", "John Due", 123_456);
+    private final PowerOfAttorney powerOfAttorney = PowerOfAttorney.builder()
+            .grantorName("John Due")
+            .granteeName("Jane Due")
+            .authorization(Authorization.WRITE)
+            .account(account)
+            .build();
+
+    @Benchmark
+    public byte[] serializePaymentAccount() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(account);
+    }
+
+    @Benchmark
+    public byte[] serializePowerOfAttorney() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(powerOfAttorney);
+    }
+}
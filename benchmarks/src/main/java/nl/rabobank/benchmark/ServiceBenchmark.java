@@ -0,0 +1,96 @@
+package nl.rabobank.benchmark;
+
+import nl.rabobank.RaboAssignmentApplication;
+import nl.rabobank.account.Account;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.authorizations.PowerOfAttorney;
+import nl.rabobank.model.CreateAccountDto;
+import nl.rabobank.model.CreatePowerOfAttorneyDto;
+import nl.rabobank.mongo.repository.AccountRepository;
+import nl.rabobank.mongo.repository.GrantRepository;
+import nl.rabobank.service.AccountService;
+import nl.rabobank.service.PowerOfAttorneyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+    private static final String GRANTOR = "benchmark grantor";
+    private static final String GRANTEE = "benchmark grantee";
+
+    @Param({"caffeine", "none"})
+    private String cacheType;
+    @Param({"100"})
+    private int grantedAccounts;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private PowerOfAttorneyService powerOfAttorneyService;
+    private String accountNumber;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(RaboAssignmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.cache.type=" + cacheType, "--logging.level.root=WARN");
+        accountService = context.getBean(AccountService.class);
+        powerOfAttorneyService = context.getBean(PowerOfAttorneyService.class);
+
+        for (int i = 0; i < grantedAccounts; i++) {
+            Account account = accountService.createAccount(new CreateAccountDto(GRANTOR, BigDecimal.valueOf(100 + i), i % 2 == 0 ? AccountType.PAYMENT : AccountType.SAVINGS));
+            powerOfAttorneyService.grantAccess(new CreatePowerOfAttorneyDto(account.getAccountNumber(), GRANTOR, GRANTEE, Authorization.READ, null));
+            accountNumber = account.getAccountNumber();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.getBean(AccountRepository.class).deleteAll();
+        context.getBean(GrantRepository.class).deleteAll();
+        context.close();
+    }
+
+    @Benchmark
+    public Account getAccount() {
+        return accountService.getAccount(accountNumber);
+    }
+
+    @Benchmark
+    public List<Account> getGrantedAccounts() {
+        return powerOfAttorneyService.getGrantedAccounts(GRANTEE);
+    }
+
+    @Benchmark
+    public List<PowerOfAttorney> getPowerOfAttorneys() {
+        return powerOfAttorneyService.getPowerOfAttorneys(GRANTEE);
+    }
+
+    @Benchmark
+    public Account createAccount() {
+        return accountService.createAccount(new CreateAccountDto(GRANTOR, BigDecimal.valueOf(100), AccountType.PAYMENT));
+    }
+}
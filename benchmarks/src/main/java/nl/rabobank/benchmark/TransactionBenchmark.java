@@ -0,0 +1,119 @@
+package nl.rabobank.benchmark;
+
+import nl.rabobank.RaboAssignmentApplication;
+import nl.rabobank.account.Account;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.authorizations.PowerOfAttorney;
+import nl.rabobank.model.CreateAccountDto;
+import nl.rabobank.model.CreatePowerOfAttorneyDto;
+import nl.rabobank.service.AccountService;
+import nl.rabobank.service.PowerOfAttorneyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of service calls with {@code mongo.client.transactions.enabled} on and off. Only
+ * {@code transactions=false} runs by default, against embedded Mongo. Transactions need a replica set, pass it with
+ * {@code -Dbenchmark.mongodb.uri=mongodb://localhost:27018/?replicaSet=rs0 ... -p transactions=false,true}. Data is
+ * written to the {@value #DATABASE} database, which is dropped afterwards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionBenchmark {
+
+    private static final String DATABASE = "rabobank_transaction_benchmark";
+    private static final String GRANTOR = "benchmark grantor";
+    private static final String GRANTEE = "benchmark grantee";
+
+    @Param({"false"})
+    private boolean transactions;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private PowerOfAttorneyService powerOfAttorneyService;
+    private String accountNumber;
+    private volatile String grantAccountNumber;
+
+    @Setup
+    public void setUp() {
+        List<String> args = new ArrayList<>(List.of("--spring.cache.type=none", "--logging.level.root=WARN",
+                "--account-filter.enabled=false", "--spring.data.mongodb.database=" + DATABASE,
+                "--mongo.client.transactions.enabled=" + transactions));
+        String uri = System.getProperty("benchmark.mongodb.uri");
+        if (uri != null) {
+            args.add("--spring.data.mongodb.uri=" + uri);
+        }
+        context = new SpringApplicationBuilder(RaboAssignmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        accountService = context.getBean(AccountService.class);
+        powerOfAttorneyService = context.getBean(PowerOfAttorneyService.class);
+
+        for (int i = 0; i < 10; i++) {
+            Account account = accountService.createAccount(new CreateAccountDto(GRANTOR, BigDecimal.valueOf(100 + i), AccountType.PAYMENT));
+            powerOfAttorneyService.grantAccess(new CreatePowerOfAttorneyDto(account.getAccountNumber(), GRANTOR, GRANTEE, Authorization.READ, null));
+            accountNumber = account.getAccountNumber();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        grantAccountNumber = accountService.createAccount(new CreateAccountDto(GRANTOR, BigDecimal.valueOf(100), AccountType.PAYMENT)).getAccountNumber();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.getBean(MongoTemplate.class).getDb().drop();
+        context.close();
+    }
+
+    @Benchmark
+    public Account getAccount() {
+        return accountService.getAccount(accountNumber);
+    }
+
+    @Benchmark
+    public List<Account> getGrantedAccounts() {
+        return powerOfAttorneyService.getGrantedAccounts(GRANTEE);
+    }
+
+    @Benchmark
+    public Account createAccount() {
+        return accountService.createAccount(new CreateAccountDto(GRANTOR, BigDecimal.valueOf(100), AccountType.PAYMENT));
+    }
+
+    @Benchmark
+    public PowerOfAttorney grantAccess() {
+        return powerOfAttorneyService.grantAccess(new CreatePowerOfAttorneyDto(grantAccountNumber, GRANTOR,
+                GRANTEE + " " + sequence.incrementAndGet(), Authorization.WRITE, null));
+    }
+}
@@ -0,0 +1,111 @@
+package nl.rabobank.benchmark;
+
+import nl.rabobank.RaboAssignmentApplication;
+import nl.rabobank.account.Account;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.model.CreateAccountDto;
+import nl.rabobank.model.CreatePowerOfAttorneyDto;
+import nl.rabobank.service.AccountService;
+import nl.rabobank.service.PowerOfAttorneyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Granted accounts requests served on Tomcat platform threads or on virtual threads, at a fixed heap of 256 MB. Every
+ * invocation sends {@code concurrency} requests at once and waits for all of them, so requests per second are
+ * {@code concurrency} divided by the score. The grantee and accounts caches are off, every request reads from Mongo.
+ * Data is written to the {@value #DATABASE} database, which is dropped afterwards.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    private static final String DATABASE = "rabobank_virtual_thread_benchmark";
+    private static final String GRANTOR = "benchmark-grantor";
+    private static final String GRANTEE = "benchmark-grantee";
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+    @Param({"200", "2000"})
+    private int concurrency;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(RaboAssignmentApplication.class)
+                .run("--server.port=0", "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.cache.type=none", "--logging.level.root=WARN", "--logging.level.nl.rabobank=WARN",
+                        "--spring.data.mongodb.database=" + DATABASE);
+        AccountService accountService = context.getBean(AccountService.class);
+        PowerOfAttorneyService powerOfAttorneyService = context.getBean(PowerOfAttorneyService.class);
+
+        for (int i = 0; i < 10; i++) {
+            Account account = accountService.createAccount(new CreateAccountDto(GRANTOR, BigDecimal.valueOf(100 + i), AccountType.PAYMENT));
+            powerOfAttorneyService.grantAccess(new CreatePowerOfAttorneyDto(account.getAccountNumber(), GRANTOR, GRANTEE, Authorization.READ, null));
+        }
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder().executor(clientExecutor).build();
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/power-of-attorneys/" + GRANTEE + "/accounts")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+        context.getBean(MongoTemplate.class).getDb().drop();
+        context.close();
+    }
+
+    @Benchmark
+    public int getGrantedAccounts() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != concurrency) {
+            throw new IllegalStateException((concurrency - ok) + " of " + concurrency + " requests failed");
+        }
+        return ok;
+    }
+}
@@ -0,0 +1,17 @@
+package nl.rabobank.mongo;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+import de.flapdoodle.embed.mongo.spring.autoconfigure.EmbeddedMongoAutoConfiguration;
+
+import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+
+@Profile(MONGO_DATA_PROFILE)
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "mongo.embedded.enabled", matchIfMissing = true)
+@Import(EmbeddedMongoAutoConfiguration.class)
+public class EmbeddedMongoConfiguration
+{
+}
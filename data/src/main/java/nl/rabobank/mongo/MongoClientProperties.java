@@ -0,0 +1,157 @@
+package nl.rabobank.mongo;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+import com.mongodb.MongoCompressor;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.TransactionOptions;
+import com.mongodb.WriteConcern;
+import lombok.Data;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Driver settings applied on top of {@code spring.data.mongodb.uri}/{@code host}/{@code port}. Unset values keep the
+ * connection string or driver defaults.
+ */
+@Data
+@Validated
+@ConfigurationProperties("mongo.client")
+public class MongoClientProperties
+{
+    @Valid
+    private final Pool pool = new Pool();
+    private Duration connectTimeout;
+    private Duration readTimeout;
+    private Duration serverSelectionTimeout;
+    private List<Compressor> compressors = new ArrayList<>();
+    private ReadPreferenceMode readPreference;
+    /**
+     * Read preference of {@code @Transactional(readOnly = true)} scopes labelled
+     * {@link ReadOnlyRoutingMongoDatabaseFactory#SECONDARY_READS}.
+     */
+    @NotNull
+    private ReadPreferenceMode readOnlyReadPreference = ReadPreferenceMode.PRIMARY;
+    @Valid
+    private final Transactions transactions = new Transactions();
+
+    public void applyTo(MongoClientSettings.Builder builder)
+    {
+        builder.applyToConnectionPoolSettings(settings -> {
+            if (pool.getMaxSize() != null) {
+                settings.maxSize(pool.getMaxSize());
+            }
+            if (pool.getMinSize() != null) {
+                settings.minSize(pool.getMinSize());
+            }
+            if (pool.getMaxWaitTime() != null) {
+                settings.maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS);
+            }
+            if (pool.getMaxConnectionIdleTime() != null) {
+                settings.maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS);
+            }
+            if (pool.getMaxConnectionLifeTime() != null) {
+                settings.maxConnectionLifeTime(pool.getMaxConnectionLifeTime().toMillis(), TimeUnit.MILLISECONDS);
+            }
+        });
+        builder.applyToSocketSettings(settings -> {
+            if (connectTimeout != null) {
+                settings.connectTimeout((int) connectTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            if (readTimeout != null) {
+                settings.readTimeout((int) readTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        });
+        if (serverSelectionTimeout != null) {
+            builder.applyToClusterSettings(settings -> settings.serverSelectionTimeout(serverSelectionTimeout.toMillis(), TimeUnit.MILLISECONDS));
+        }
+        if (!compressors.isEmpty()) {
+            builder.compressorList(compressors.stream().map(Compressor::toMongoCompressor).collect(Collectors.toList()));
+        }
+        if (readPreference != null) {
+            builder.readPreference(readPreference.toReadPreference());
+        }
+    }
+
+    @Data
+    public static class Pool
+    {
+        @Min(1)
+        private Integer maxSize;
+        @Min(0)
+        private Integer minSize;
+        private Duration maxWaitTime;
+        private Duration maxConnectionIdleTime;
+        private Duration maxConnectionLifeTime;
+    }
+
+    @Data
+    public static class Transactions
+    {
+        /**
+         * Run {@code @Transactional} write scopes in MongoDB transactions, requires a replica set or sharded cluster.
+         */
+        private boolean enabled;
+        private Duration maxCommitTime;
+
+        public TransactionOptions toTransactionOptions()
+        {
+            TransactionOptions.Builder builder = TransactionOptions.builder()
+                    .readConcern(ReadConcern.SNAPSHOT)
+                    .writeConcern(WriteConcern.MAJORITY);
+            if (maxCommitTime != null) {
+                builder.maxCommitTime(maxCommitTime.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            return builder.build();
+        }
+    }
+
+    public enum Compressor
+    {
+        ZSTD, SNAPPY, ZLIB;
+
+        MongoCompressor toMongoCompressor()
+        {
+            switch (this) {
+                case ZSTD:
+                    return MongoCompressor.createZstdCompressor();
+                case SNAPPY:
+                    return MongoCompressor.createSnappyCompressor();
+                case ZLIB:
+                default:
+                    return MongoCompressor.createZlibCompressor();
+            }
+        }
+    }
+
+    public enum ReadPreferenceMode
+    {
+        PRIMARY, PRIMARY_PREFERRED, SECONDARY, SECONDARY_PREFERRED, NEAREST;
+
+        public ReadPreference toReadPreference()
+        {
+            switch (this) {
+                case PRIMARY_PREFERRED:
+                    return ReadPreference.primaryPreferred();
+                case SECONDARY:
+                    return ReadPreference.secondary();
+                case SECONDARY_PREFERRED:
+                    return ReadPreference.secondaryPreferred();
+                case NEAREST:
+                    return ReadPreference.nearest();
+                case PRIMARY:
+                default:
+                    return ReadPreference.primary();
+            }
+        }
+    }
+}
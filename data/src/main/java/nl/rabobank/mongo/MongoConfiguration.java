@@ -1,29 +1,48 @@
 package nl.rabobank.mongo;
 
+import nl.rabobank.mongo.migration.BalanceCentsMigration;
+import nl.rabobank.mongo.migration.DataMigrations;
+import nl.rabobank.mongo.migration.GrantBackfillMigration;
+import nl.rabobank.mongo.migration.IndexMigration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.boot.autoconfigure.mongo.MongoProperties;
-import org.springframework.boot.autoconfigure.mongo.embedded.EmbeddedMongoAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
+
 import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
 
-@Profile(MONGO_DATA_PROFILE)
+/**
+ * Blocking Mongo client, templates, repositories and migrations; the {@code reactive} profile uses
+ * {@link ReactiveMongoConfiguration} instead.
+ */
+@Profile(MONGO_DATA_PROFILE + " & !" + REACTIVE_PROFILE)
 @Configuration
 @EnableMongoRepositories
-@EnableConfigurationProperties(MongoProperties.class)
-@Import(EmbeddedMongoAutoConfiguration.class)
+@EnableConfigurationProperties({MongoProperties.class, MongoClientProperties.class, MongoIndexProperties.class})
 @RequiredArgsConstructor
 public class MongoConfiguration extends AbstractMongoClientConfiguration
 {
     private final MongoProperties mongoProperties;
+    private final MongoClientProperties mongoClientProperties;
+    private final MongoIndexProperties mongoIndexProperties;
+    private final ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers;
 
     @Override
     protected String getDatabaseName()
@@ -35,11 +54,56 @@ public class MongoConfiguration extends AbstractMongoClientConfiguration
     @Bean(destroyMethod = "close")
     public MongoClient mongoClient()
     {
-        return MongoClients.create(mongoProperties.determineUri());
+        return MongoClients.create(mongoClientSettings());
+    }
+
+    @Override
+    @Bean
+    public MongoDatabaseFactory mongoDbFactory()
+    {
+        return new ReadOnlyRoutingMongoDatabaseFactory(mongoClient(), getDatabaseName(),
+                mongoClientProperties.getReadOnlyReadPreference().toReadPreference());
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientPropertiesCustomizer()
+    {
+        return mongoClientProperties::applyTo;
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager()
+    {
+        MongoSessionTransactionManager sessionTransactionManager = new MongoSessionTransactionManager();
+        MongoClientProperties.Transactions transactions = mongoClientProperties.getTransactions();
+        if (!transactions.isEnabled()) {
+            return sessionTransactionManager;
+        }
+        return new MongoRoutingTransactionManager(sessionTransactionManager,
+                new MongoTransactionManager(mongoDbFactory(), transactions.toTransactionOptions()));
+    }
+
+    @Bean
+    public IndexMigration indexMigration(MongoTemplate mongoTemplate)
+    {
+        return new IndexMigration(mongoTemplate);
+    }
+
+    @Bean
+    public DataMigrations dataMigrations(MongoTemplate mongoTemplate)
+    {
+        return new DataMigrations(mongoTemplate, List.of(new GrantBackfillMigration(), new BalanceCentsMigration()));
+    }
+
+    @Override
+    protected void configureClientSettings(MongoClientSettings.Builder builder)
+    {
+        builder.applyConnectionString(new ConnectionString(mongoProperties.determineUri()));
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
     }
 
     @Override
     protected boolean autoIndexCreation() {
-        return true;
+        return mongoIndexProperties.isAutoCreate();
     }
 }
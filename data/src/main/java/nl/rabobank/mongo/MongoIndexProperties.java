@@ -0,0 +1,18 @@
+package nl.rabobank.mongo;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import lombok.Data;
+
+@Data
+@ConfigurationProperties("mongo.indexes")
+public class MongoIndexProperties
+{
+    /**
+     * Create entity indexes on startup. Disable when indexes are managed by {@code mongo.indexes.migrate} runs.
+     */
+    private boolean autoCreate = true;
+    /**
+     * Apply the index migration and exit instead of starting the application.
+     */
+    private boolean migrate;
+}
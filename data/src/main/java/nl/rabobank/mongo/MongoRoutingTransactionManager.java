@@ -0,0 +1,50 @@
+package nl.rabobank.mongo;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Starts MongoDB transactions only for {@code @Transactional} write scopes. Read-only scopes stay on
+ * {@link MongoSessionTransactionManager} sessions, and nested scopes join whatever the outermost scope started.
+ */
+@RequiredArgsConstructor
+public class MongoRoutingTransactionManager implements PlatformTransactionManager
+{
+    private final MongoSessionTransactionManager readOnlyTransactionManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public TransactionStatus getTransaction(TransactionDefinition definition) throws TransactionException
+    {
+        return transactionManager(definition).getTransaction(definition);
+    }
+
+    @Override
+    public void commit(TransactionStatus status) throws TransactionException
+    {
+        transactionManager(status).commit(status);
+    }
+
+    @Override
+    public void rollback(TransactionStatus status) throws TransactionException
+    {
+        transactionManager(status).rollback(status);
+    }
+
+    private PlatformTransactionManager transactionManager(TransactionDefinition definition)
+    {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                ? TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                : definition != null && definition.isReadOnly();
+        return readOnly ? readOnlyTransactionManager : transactionManager;
+    }
+
+    private PlatformTransactionManager transactionManager(TransactionStatus status)
+    {
+        return MongoSessionTransactionManager.isSessionScope(status) ? readOnlyTransactionManager : transactionManager;
+    }
+}
@@ -0,0 +1,94 @@
+package nl.rabobank.mongo;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Demarcates {@code @Transactional} scopes without starting MongoDB transactions, so that
+ * {@link ReadOnlyRoutingMongoDatabaseFactory} can bind read-only scopes to a session, and route those labelled
+ * {@link ReadOnlyRoutingMongoDatabaseFactory#SECONDARY_READS} to secondaries.
+ */
+public class MongoSessionTransactionManager extends AbstractPlatformTransactionManager
+{
+    /**
+     * Bound to {@code true} in read-only scopes labelled {@link ReadOnlyRoutingMongoDatabaseFactory#SECONDARY_READS},
+     * to {@code false} in other read-only scopes.
+     */
+    static final Object READ_ONLY_RESOURCE = new Object();
+
+    @Override
+    protected Object doGetTransaction()
+    {
+        return new SessionScope(TransactionSynchronizationManager.isActualTransactionActive());
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction)
+    {
+        return ((SessionScope) transaction).existing;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition)
+    {
+        if (definition.isReadOnly()) {
+            TransactionSynchronizationManager.bindResource(READ_ONLY_RESOURCE, definition instanceof TransactionAttribute
+                    && ((TransactionAttribute) definition).getLabels().contains(ReadOnlyRoutingMongoDatabaseFactory.SECONDARY_READS));
+        }
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction)
+    {
+        return TransactionSynchronizationManager.unbindResourceIfPossible(READ_ONLY_RESOURCE);
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources)
+    {
+        TransactionSynchronizationManager.bindResource(READ_ONLY_RESOURCE, suspendedResources);
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction)
+    {
+        TransactionSynchronizationManager.unbindResourceIfPossible(READ_ONLY_RESOURCE);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status)
+    {
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status)
+    {
+    }
+
+    /**
+     * Nothing to mark, participating scopes have no MongoDB transaction to roll back.
+     */
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status)
+    {
+    }
+
+    static boolean isSessionScope(TransactionStatus status)
+    {
+        return status instanceof DefaultTransactionStatus && ((DefaultTransactionStatus) status).getTransaction() instanceof SessionScope;
+    }
+
+    private static final class SessionScope
+    {
+        private final boolean existing;
+
+        private SessionScope(boolean existing)
+        {
+            this.existing = existing;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package nl.rabobank.mongo;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.config.AbstractReactiveMongoConfiguration;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import lombok.RequiredArgsConstructor;
+
+import static nl.rabobank.mongo.model.Profiles.MONGO_DATA_PROFILE;
+import static nl.rabobank.mongo.model.Profiles.REACTIVE_PROFILE;
+
+/**
+ * Reactive Mongo client, template and repositories, without any blocking client. Data and index migrations use the
+ * blocking client, so they are applied by an instance without the {@code reactive} profile, e.g. the index migration
+ * job.
+ */
+@Profile(MONGO_DATA_PROFILE + " & " + REACTIVE_PROFILE)
+@Configuration
+@EnableReactiveMongoRepositories
+@EnableConfigurationProperties({MongoProperties.class, MongoClientProperties.class, MongoIndexProperties.class})
+@RequiredArgsConstructor
+public class ReactiveMongoConfiguration extends AbstractReactiveMongoConfiguration
+{
+    private final MongoProperties mongoProperties;
+    private final MongoClientProperties mongoClientProperties;
+    private final MongoIndexProperties mongoIndexProperties;
+    private final ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers;
+
+    @Override
+    protected String getDatabaseName()
+    {
+        return mongoProperties.getMongoClientDatabase();
+    }
+
+    @Override
+    @Bean(destroyMethod = "close")
+    public MongoClient reactiveMongoClient()
+    {
+        return MongoClients.create(mongoClientSettings());
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientPropertiesCustomizer()
+    {
+        return mongoClientProperties::applyTo;
+    }
+
+    @Override
+    protected void configureClientSettings(MongoClientSettings.Builder builder)
+    {
+        builder.applyConnectionString(new ConnectionString(mongoProperties.determineUri()));
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+    }
+
+    @Override
+    protected boolean autoIndexCreation() {
+        return mongoIndexProperties.isAutoCreate();
+    }
+}
@@ -0,0 +1,179 @@
+package nl.rabobank.mongo;
+
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.bson.codecs.configuration.CodecRegistry;
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.connection.ClusterDescription;
+import com.mongodb.connection.ClusterType;
+import com.mongodb.connection.ServerDescription;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads {@code @Transactional(readOnly = true)} scopes through one snapshot session per scope, so all reads of the scope
+ * see the same point in time, and routes those labelled {@code SECONDARY_READS} to {@code readOnlyReadPreference}
+ * members. Deployments without snapshot reads (standalone servers, MongoDB before 5.0) get a causally consistent
+ * session instead, so reads from secondaries still observe the scope's earlier operations. Everything else, including
+ * sessions of write transactions, goes through the primary factory unchanged, so requests following a write of the
+ * same client read it.
+ */
+@Slf4j
+public class ReadOnlyRoutingMongoDatabaseFactory implements MongoDatabaseFactory
+{
+    /**
+     * Transaction label of read-only scopes that tolerate reading from a secondary behind the writes of earlier
+     * requests.
+     */
+    public static final String SECONDARY_READS = "mongo:secondary-reads";
+
+    static final ClientSessionOptions SNAPSHOT = ClientSessionOptions.builder().snapshot(true).build();
+    static final ClientSessionOptions CAUSALLY_CONSISTENT = ClientSessionOptions.builder().causallyConsistent(true).build();
+    private static final int SNAPSHOT_READS_WIRE_VERSION = 13;
+    private static final Object NO_SESSION = new Object();
+
+    private final MongoClient mongoClient;
+    private final MongoDatabaseFactory primary;
+    private final MongoDatabaseFactory readOnly;
+    // not the factory itself, MongoDatabaseUtils binds the sessions of Mongo transactions to it
+    private final Object sessionResource = new Object();
+
+    public ReadOnlyRoutingMongoDatabaseFactory(MongoClient mongoClient, String databaseName, ReadPreference readOnlyReadPreference)
+    {
+        this.mongoClient = mongoClient;
+        this.primary = new SimpleMongoClientDatabaseFactory(mongoClient, databaseName);
+        this.readOnly = new SimpleMongoClientDatabaseFactory(mongoClient, databaseName)
+        {
+            @Override
+            protected MongoDatabase doGetMongoDatabase(String dbName)
+            {
+                return super.doGetMongoDatabase(dbName).withReadPreference(readOnlyReadPreference);
+            }
+        };
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase()
+    {
+        return currentFactory().getMongoDatabase();
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase(String dbName)
+    {
+        return currentFactory().getMongoDatabase(dbName);
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator()
+    {
+        return primary.getExceptionTranslator();
+    }
+
+    @Override
+    public CodecRegistry getCodecRegistry()
+    {
+        return primary.getCodecRegistry();
+    }
+
+    @Override
+    public ClientSession getSession(ClientSessionOptions options)
+    {
+        return primary.getSession(options);
+    }
+
+    @Override
+    public MongoDatabaseFactory withSession(ClientSession session)
+    {
+        return primary.withSession(session);
+    }
+
+    /**
+     * @return {@code true} if the current scope reads with the {@code readOnlyReadPreference}, so its results may be
+     * behind the primary
+     */
+    public static boolean isSecondaryReadsScope()
+    {
+        return isReadOnlyScope() && Boolean.TRUE.equals(TransactionSynchronizationManager.getResource(MongoSessionTransactionManager.READ_ONLY_RESOURCE));
+    }
+
+    private static boolean isReadOnlyScope()
+    {
+        return TransactionSynchronizationManager.isSynchronizationActive() && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && TransactionSynchronizationManager.hasResource(MongoSessionTransactionManager.READ_ONLY_RESOURCE);
+    }
+
+    private MongoDatabaseFactory currentFactory()
+    {
+        if (!isReadOnlyScope()) {
+            return primary;
+        }
+        MongoDatabaseFactory factory = isSecondaryReadsScope() ? readOnly : primary;
+        Object session = TransactionSynchronizationManager.getResource(sessionResource);
+        if (session == null) {
+            ClientSessionOptions options = sessionOptions();
+            session = options == null ? NO_SESSION : primary.getSession(options);
+            TransactionSynchronizationManager.bindResource(sessionResource, session);
+            TransactionSynchronizationManager.registerSynchronization(new ReadOnlySessionSynchronization(session));
+        }
+        return session == NO_SESSION ? factory : factory.withSession((ClientSession) session);
+    }
+
+    /**
+     * The driver only fails once an unsupported session is used, so support is checked on the cluster description the
+     * driver has seen so far. Deployments without sessions have no secondaries to be consistent with.
+     *
+     * @return snapshot session options if the deployment supports snapshot reads, causally consistent ones if it
+     * supports sessions, {@code null} otherwise
+     */
+    ClientSessionOptions sessionOptions()
+    {
+        ClusterDescription cluster = mongoClient.getClusterDescription();
+        if (cluster.getLogicalSessionTimeoutMinutes() == null) {
+            log.debug("Reading without session, sessions are not supported");
+            return null;
+        }
+        boolean snapshotReads = (cluster.getType() == ClusterType.REPLICA_SET || cluster.getType() == ClusterType.SHARDED)
+                && cluster.getServerDescriptions().stream()
+                .filter(ServerDescription::isOk)
+                .allMatch(server -> server.getMaxWireVersion() >= SNAPSHOT_READS_WIRE_VERSION);
+        return snapshotReads ? SNAPSHOT : CAUSALLY_CONSISTENT;
+    }
+
+    private class ReadOnlySessionSynchronization implements TransactionSynchronization
+    {
+        private final Object session;
+
+        ReadOnlySessionSynchronization(Object session)
+        {
+            this.session = session;
+        }
+
+        @Override
+        public void suspend()
+        {
+            TransactionSynchronizationManager.unbindResource(sessionResource);
+        }
+
+        @Override
+        public void resume()
+        {
+            TransactionSynchronizationManager.bindResource(sessionResource, session);
+        }
+
+        @Override
+        public void afterCompletion(int status)
+        {
+            TransactionSynchronizationManager.unbindResourceIfPossible(sessionResource);
+            if (session != NO_SESSION) {
+                ((ClientSession) session).close();
+            }
+        }
+    }
+}
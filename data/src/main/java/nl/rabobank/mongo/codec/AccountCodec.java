@@ -0,0 +1,141 @@
+package nl.rabobank.mongo.codec;
+
+import nl.rabobank.account.Account;
+import nl.rabobank.account.AccountType;
+import nl.rabobank.account.PaymentAccount;
+import nl.rabobank.account.SavingsAccount;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+
+/**
+ * Decodes {@code accounts} documents straight into {@link PaymentAccount}/{@link SavingsAccount}, skipping the
+ * {@code AccountEntity} mapping for read-only queries. Accounts are always written through {@code AccountEntity}, so
+ * the codec is only added to the registry of the collections these queries read, see {@link #withAccountCodec}.
+ * Encoding writes the same fields back, without {@code _id} and {@code version}, e.g. for query parameters.
+ */
+public class AccountCodec implements Codec<Account> {
+
+    private static final AccountCodec INSTANCE = new AccountCodec();
+
+    /**
+     * @return {@code registry} that decodes {@link Account} documents with this codec
+     */
+    public static CodecRegistry withAccountCodec(CodecRegistry registry) {
+        return CodecRegistries.fromRegistries(CodecRegistries.fromCodecs(INSTANCE), registry);
+    }
+
+    @Override
+    public Account decode(BsonReader reader, DecoderContext decoderContext) {
+        String id = null;
+        String accountNumber = null;
+        String accountHolderName = null;
+        long balance = 0;
+        String type = null;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id":
+                    id = readId(reader);
+                    break;
+                case "accountNumber":
+                    accountNumber = reader.readString();
+                    break;
+                case "accountHolderName":
+                    if (reader.getCurrentBsonType() == BsonType.NULL) {
+                        reader.readNull();
+                    } else {
+                        accountHolderName = reader.readString();
+                    }
+                    break;
+                case "balance":
+                    balance = readBalance(reader, id);
+                    break;
+                case "type":
+                    type = reader.readString();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        switch (accountType(accountNumber, type)) {
+            case PAYMENT:
+                return new PaymentAccount(accountNumber, accountHolderName, balance);
+            case SAVINGS:
+                return new SavingsAccount(accountNumber, accountHolderName, balance);
+            default:
+                throw new IllegalStateException("Account " + accountNumber + " has unsupported type " + type);
+        }
+    }
+
+    private static String readId(BsonReader reader) {
+        switch (reader.getCurrentBsonType()) {
+            case OBJECT_ID:
+                return reader.readObjectId().toHexString();
+            case STRING:
+                return reader.readString();
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    private static long readBalance(BsonReader reader, String id) {
+        BsonType type = reader.getCurrentBsonType();
+        switch (type) {
+            case INT64:
+                return reader.readInt64();
+            case INT32:
+                return reader.readInt32();
+            default:
+                throw new IllegalStateException("Account document " + id + " has unsupported balance type " + type);
+        }
+    }
+
+    private static AccountType accountType(String accountNumber, String type) {
+        if (type == null) {
+            throw new IllegalStateException("Account " + accountNumber + " has no type");
+        }
+        try {
+            return AccountType.valueOf(type);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Account " + accountNumber + " has unknown type " + type, e);
+        }
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Account account, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writer.writeString("accountNumber", account.getAccountNumber());
+        if (account.getAccountHolderName() == null) {
+            writer.writeNull("accountHolderName");
+        } else {
+            writer.writeString("accountHolderName", account.getAccountHolderName());
+        }
+        writer.writeInt64("balance", account.getBalance());
+        writer.writeString("type", accountType(account).name());
+        writer.writeEndDocument();
+    }
+
+    private static AccountType accountType(Account account) {
+        if (account instanceof PaymentAccount) {
+            return AccountType.PAYMENT;
+        }
+        if (account instanceof SavingsAccount) {
+            return AccountType.SAVINGS;
+        }
+        throw new IllegalArgumentException("Account " + account.getAccountNumber() + " has unsupported class " + account.getClass().getName());
+    }
+
+    @Override
+    public Class<Account> getEncoderClass() {
+        return Account.class;
+    }
+}
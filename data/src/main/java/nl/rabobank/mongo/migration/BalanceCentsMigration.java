@@ -0,0 +1,70 @@
+package nl.rabobank.mongo.migration;
+
+import nl.rabobank.mongo.model.AccountEntity;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts balances stored as Double euro amounts by older versions into Int64 euro cents. Each update is conditional
+ * on the Double it read, so concurrent runs convert every balance once. Instances of older versions must be stopped
+ * before it runs, they read and write euro amounts.
+ */
+@Slf4j
+public class BalanceCentsMigration implements DataMigration
+{
+    public static final String ID = "balance-cents";
+    private static final String BALANCE = "balance";
+    private static final int BATCH_SIZE = 1_000;
+
+    @Override
+    public String getId()
+    {
+        return ID;
+    }
+
+    @Override
+    public void apply(MongoTemplate mongoTemplate)
+    {
+        MongoCollection<Document> accounts = mongoTemplate.getCollection(mongoTemplate.getCollectionName(AccountEntity.class));
+        Bson doubleBalance = Filters.type(BALANCE, BsonType.DOUBLE);
+        long count = 0;
+        try (MongoCursor<Document> cursor = accounts.find(doubleBalance).projection(Projections.include(BALANCE)).iterator()) {
+            while (cursor.hasNext()) {
+                List<WriteModel<Document>> updates = new ArrayList<>(BATCH_SIZE);
+                while (updates.size() < BATCH_SIZE && cursor.hasNext()) {
+                    Document account = cursor.next();
+                    double balance = account.getDouble(BALANCE);
+                    updates.add(new UpdateOneModel<>(
+                            Filters.and(Filters.eq("_id", account.get("_id")), doubleBalance, Filters.eq(BALANCE, balance)),
+                            Updates.set(BALANCE, toCents(balance))));
+                }
+                count += accounts.bulkWrite(updates, new BulkWriteOptions().ordered(false)).getModifiedCount();
+            }
+        }
+        log.info("Converted {} Double balances into cents", count);
+    }
+
+    /**
+     * @return the Double euro amount in euro cents, rounded half up
+     */
+    public static long toCents(double balance)
+    {
+        return BigDecimal.valueOf(balance).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
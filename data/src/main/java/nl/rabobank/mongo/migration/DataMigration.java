@@ -0,0 +1,17 @@
+package nl.rabobank.mongo.migration;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * One step of {@link DataMigrations}. Instances may apply the same step concurrently and a step interrupted halfway is
+ * applied again, so {@link #apply(MongoTemplate)} must be idempotent.
+ */
+public interface DataMigration
+{
+    /**
+     * Recorded in the {@code migrations} collection once applied, never change it.
+     */
+    String getId();
+
+    void apply(MongoTemplate mongoTemplate);
+}
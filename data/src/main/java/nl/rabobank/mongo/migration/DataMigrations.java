@@ -0,0 +1,43 @@
+package nl.rabobank.mongo.migration;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.bson.Document;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Applies the {@link DataMigration}s not yet recorded in the {@code migrations} collection, in order.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DataMigrations
+{
+    private final MongoTemplate mongoTemplate;
+    private final List<DataMigration> migrations;
+
+    /**
+     * @return the number of applied migrations
+     */
+    public int migrate()
+    {
+        MongoCollection<Document> applied = mongoTemplate.getCollection(IndexMigration.COLLECTION);
+        int count = 0;
+        for (DataMigration migration : migrations) {
+            if (applied.find(Filters.eq("_id", migration.getId())).first() != null) {
+                continue;
+            }
+            log.info("Applying data migration {}", migration.getId());
+            migration.apply(mongoTemplate);
+            applied.replaceOne(Filters.eq("_id", migration.getId()), new Document("_id", migration.getId()).append("migratedAt", new Date()),
+                    new ReplaceOptions().upsert(true));
+            count++;
+        }
+        return count;
+    }
+}
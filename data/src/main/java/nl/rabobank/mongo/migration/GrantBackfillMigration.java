@@ -0,0 +1,67 @@
+package nl.rabobank.mongo.migration;
+
+import nl.rabobank.mongo.model.AccountEntity;
+import nl.rabobank.mongo.model.GrantEntity;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Update;
+import org.bson.Document;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.unwind;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Copies the embedded {@code accounts.powerOfAttorneys} entries into the {@code grants} collection, which grantee reads
+ * are served from. Grants that already exist are left untouched, so validities set since are kept.
+ */
+@Slf4j
+public class GrantBackfillMigration implements DataMigration
+{
+    public static final String ID = "grants-backfill";
+    private static final int BATCH_SIZE = 1_000;
+
+    @Override
+    public String getId()
+    {
+        return ID;
+    }
+
+    @Override
+    public void apply(MongoTemplate mongoTemplate)
+    {
+        Aggregation aggregation = newAggregation(
+                match(where("powerOfAttorneys.0").exists(true)),
+                unwind("powerOfAttorneys"),
+                project("accountNumber")
+                        .and("powerOfAttorneys.granteeName").as("granteeName")
+                        .and("powerOfAttorneys.authorization").as("authorization"));
+        long count = 0;
+        // by collection name, the embedded grantees are no longer mapped on AccountEntity
+        try (Stream<Document> stream = mongoTemplate.aggregateStream(aggregation,
+                mongoTemplate.getCollectionName(AccountEntity.class), Document.class)) {
+            Iterator<Document> grants = stream.iterator();
+            while (grants.hasNext()) {
+                BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GrantEntity.class);
+                for (int batch = 0; batch < BATCH_SIZE && grants.hasNext(); batch++, count++) {
+                    Document grant = grants.next();
+                    // inserts the equality fields of the query as a permanent grant, existing grants are not modified
+                    bulkOperations.upsert(query(where("granteeName").is(grant.getString("granteeName"))
+                                    .and("authorization").is(grant.getString("authorization"))
+                                    .and("accountNumber").is(grant.getString("accountNumber"))),
+                            new Update().setOnInsert("validUntil", GrantEntity.PERMANENT));
+                }
+                bulkOperations.execute();
+            }
+        }
+        log.info("Backfilled {} embedded powers of attorney into grants", count);
+    }
+}
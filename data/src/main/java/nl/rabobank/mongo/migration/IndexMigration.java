@@ -0,0 +1,60 @@
+package nl.rabobank.mongo.migration;
+
+import nl.rabobank.mongo.model.AccountEntity;
+import nl.rabobank.mongo.model.GrantEntity;
+import nl.rabobank.mongo.model.IdempotencyRecordEntity;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.bson.Document;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Creates the indexes declared on the entities once per {@link #VERSION}, recorded in the {@code migrations}
+ * collection, so application instances can start with {@code mongo.indexes.auto-create=false}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class IndexMigration
+{
+    /**
+     * Bump whenever an {@code @Indexed}/{@code @CompoundIndex} of {@link #ENTITIES} is added or changed.
+     */
+    public static final int VERSION = 1;
+    public static final String COLLECTION = "migrations";
+    private static final String ID = "indexes";
+    private static final List<Class<?>> ENTITIES = List.of(AccountEntity.class, GrantEntity.class, IdempotencyRecordEntity.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * @return {@code true} if indexes were created, {@code false} if the database is already at {@link #VERSION}
+     */
+    public boolean migrate()
+    {
+        MongoCollection<Document> migrations = mongoTemplate.getCollection(COLLECTION);
+        Document current = migrations.find(Filters.eq("_id", ID)).first();
+        int version = current == null ? 0 : current.getInteger("version", 0);
+        if (version >= VERSION) {
+            log.info("Indexes are up to date at version {}", version);
+            return false;
+        }
+
+        IndexResolver indexResolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> entity : ENTITIES) {
+            IndexOperations indexOperations = mongoTemplate.indexOps(entity);
+            indexResolver.resolveIndexFor(entity).forEach(indexOperations::ensureIndex);
+        }
+        migrations.replaceOne(Filters.eq("_id", ID), new Document("_id", ID).append("version", VERSION).append("migratedAt", new Date()),
+                new ReplaceOptions().upsert(true));
+        log.info("Indexes migrated from version {} to {}", version, VERSION);
+        return true;
+    }
+}
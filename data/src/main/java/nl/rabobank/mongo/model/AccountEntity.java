@@ -4,12 +4,10 @@ import lombok.Builder;
 import lombok.Data;
 import nl.rabobank.account.AccountType;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.util.HashSet;
-import java.util.Set;
-
 @Data
 @Builder(toBuilder = true)
 @Document("accounts")
@@ -17,19 +15,15 @@ public class AccountEntity {
 
     @Id
     private String id;
+    /**
+     * Version of the account fields, the account ETag. The application only inserts accounts, writers updating them must
+     * increment it.
+     */
+    @Version
+    private Long version;
     @Indexed(unique = true)
     private String accountNumber;
     private String accountHolderName;
-    private Double balance;
+    private long balance;
     private AccountType type;
-    @Indexed
-    private Set<PowerOfAttorneyGrantee> powerOfAttorneys;
-
-    public AccountEntity addGrantee(PowerOfAttorneyGrantee grantee) {
-        if (powerOfAttorneys == null) {
-            powerOfAttorneys = new HashSet<>();
-        }
-        powerOfAttorneys.add(grantee);
-        return this;
-    }
 }
@@ -0,0 +1,45 @@
+package nl.rabobank.mongo.model;
+
+import lombok.Builder;
+import lombok.Data;
+import nl.rabobank.authorizations.Authorization;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Builder(toBuilder = true)
+@Document("grants")
+@CompoundIndexes({
+        @CompoundIndex(name = "grantee_authorization_account", def = "{'granteeName': 1, 'authorization': 1, 'accountNumber': 1}", unique = true),
+        @CompoundIndex(name = "grantee_authorization_account_validity", def = "{'granteeName': 1, 'authorization': 1, 'accountNumber': 1, 'validUntil': 1}"),
+        @CompoundIndex(name = "account_grantee", def = "{'accountNumber': 1, 'granteeName': 1}")
+})
+public class GrantEntity {
+
+    /**
+     * Stored {@code validUntil} of grants that never expire, so that grantee queries select valid grants with a single
+     * range on the index instead of also matching missing values.
+     */
+    public static final Instant PERMANENT = Instant.parse("9999-12-31T23:59:59Z");
+
+    @Id
+    private String id;
+    private String granteeName;
+    private Authorization authorization;
+    private String accountNumber;
+    /**
+     * Removed by the TTL monitor once passed, {@link #PERMANENT} or {@code null} before the grant is stored for grants
+     * that never expire.
+     */
+    @Indexed(name = "validUntil_ttl", expireAfterSeconds = 0)
+    private Instant validUntil;
+
+    public boolean isPermanent() {
+        return validUntil == null || !validUntil.isBefore(PERMANENT);
+    }
+}
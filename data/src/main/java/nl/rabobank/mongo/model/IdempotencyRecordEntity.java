@@ -0,0 +1,35 @@
+package nl.rabobank.mongo.model;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Builder(toBuilder = true)
+@Document("idempotency_keys")
+public class IdempotencyRecordEntity {
+
+    @Id
+    private String id;
+    /**
+     * Random token of the request holding the reservation.
+     */
+    private String owner;
+    private String fingerprint;
+    /**
+     * HTTP status of the stored response, {@code 0} while the first request is in progress.
+     */
+    private int status;
+    private String contentType;
+    private byte[] body;
+    @Indexed(name = "expiresAt_ttl", expireAfterSeconds = 0)
+    private Instant expiresAt;
+
+    public boolean isCompleted() {
+        return status != 0;
+    }
+}
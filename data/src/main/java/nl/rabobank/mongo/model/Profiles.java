@@ -6,4 +6,5 @@ import lombok.experimental.UtilityClass;
 public class Profiles {
 
     public static final String MONGO_DATA_PROFILE = "mongo-data";
+    public static final String REACTIVE_PROFILE = "reactive";
 }
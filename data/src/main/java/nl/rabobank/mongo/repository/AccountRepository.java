@@ -1,17 +1,40 @@
 package nl.rabobank.mongo.repository;
 
-import nl.rabobank.authorizations.Authorization;
 import nl.rabobank.mongo.model.AccountEntity;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface AccountRepository extends MongoRepository<AccountEntity, String> {
+public interface AccountRepository extends MongoRepository<AccountEntity, String>, AccountRepositoryCustom {
 
+    /**
+     * Leaves out the grantees embedded by older versions, they are kept in the accounts until a later release removes
+     * them.
+     */
+    String WITHOUT_GRANTEES = "{ 'powerOfAttorneys' : 0 }";
+
+    @Query(fields = WITHOUT_GRANTEES)
+    List<AccountEntity> findAllByOrderById(Pageable page);
+
+    @Query(fields = WITHOUT_GRANTEES)
+    List<AccountEntity> findAccountEntityByIdGreaterThanOrderById(ObjectId id, Pageable page);
+
+    @Query(value = "{ 'accountNumber' : ?0 }", fields = WITHOUT_GRANTEES)
     Optional<AccountEntity> findAccountEntityByAccountNumber(String accountNumber);
 
-    List<AccountEntity> findAccountEntityByPowerOfAttorneys_GranteeNameOrderById(String granteeName);
+    @Query(value = "{ 'accountNumber' : ?0, 'accountHolderName' : ?1 }", fields = WITHOUT_GRANTEES)
+    Optional<AccountEntity> findAccountEntityByAccountNumberAndAccountHolderName(String accountNumber, String accountHolderName);
+
+    boolean existsAccountEntityByAccountNumber(String accountNumber);
+
+    @Query(value = "{ 'accountNumber' : { $in : ?0 } }", fields = WITHOUT_GRANTEES)
+    List<AccountEntity> findAccountEntityByAccountNumberIn(Collection<String> accountNumbers);
 
-    List<AccountEntity> findAccountEntityByPowerOfAttorneys_GranteeNameAndPowerOfAttorneys_AuthorizationOrderById(String granteeName, Authorization authorization);
+    @Query(value = "{ 'accountNumber' : { $in : ?0 } }", fields = WITHOUT_GRANTEES, sort = "{ '_id' : 1 }")
+    List<AccountEntity> findAccountEntityByAccountNumberInOrderById(Collection<String> accountNumbers);
 }
@@ -0,0 +1,23 @@
+package nl.rabobank.mongo.repository;
+
+import nl.rabobank.account.Account;
+import nl.rabobank.mongo.model.AccountEntity;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface AccountRepositoryCustom {
+
+    /**
+     * Read-only queries below decode straight into domain accounts, see {@link nl.rabobank.mongo.codec.AccountCodec}.
+     */
+    List<Account> findAccounts(Pageable page);
+
+    Stream<Account> streamAccounts(int batchSize);
+
+    Stream<String> streamAccountNumbers(int batchSize);
+
+    Map<Integer, String> insertAll(List<AccountEntity> accounts);
+}
@@ -0,0 +1,95 @@
+package nl.rabobank.mongo.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import lombok.RequiredArgsConstructor;
+import nl.rabobank.account.Account;
+import nl.rabobank.mongo.codec.AccountCodec;
+import nl.rabobank.mongo.model.AccountEntity;
+import org.bson.Document;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@RequiredArgsConstructor
+public class AccountRepositoryCustomImpl implements AccountRepositoryCustom {
+
+    private static final Document WITHOUT_GRANTEES = Document.parse(AccountRepository.WITHOUT_GRANTEES);
+    private static final Document ACCOUNT_NUMBER_ONLY = new Document("accountNumber", 1).append("_id", 0);
+
+    private final MongoOperations mongoOperations;
+
+    @Override
+    public List<Account> findAccounts(Pageable page) {
+        Document sort = new QueryMapper(mongoOperations.getConverter()).getMappedSort(
+                new Query().with(page.getSort()).getSortObject(),
+                mongoOperations.getConverter().getMappingContext().getPersistentEntity(AccountEntity.class));
+        return mongoOperations.execute(AccountEntity.class, collection -> accounts(collection)
+                .find()
+                .projection(WITHOUT_GRANTEES)
+                .sort(sort)
+                .skip((int) page.getOffset())
+                .limit(page.getPageSize())
+                .into(new ArrayList<>()));
+    }
+
+    @Override
+    public Stream<Account> streamAccounts(int batchSize) {
+        MongoCursor<Account> cursor = mongoOperations.execute(AccountEntity.class, collection -> accounts(collection)
+                .find()
+                .projection(WITHOUT_GRANTEES)
+                .batchSize(batchSize)
+                .noCursorTimeout(true)
+                .cursor());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .onClose(cursor::close);
+    }
+
+    @Override
+    public Stream<String> streamAccountNumbers(int batchSize) {
+        MongoCursor<Document> cursor = mongoOperations.execute(AccountEntity.class, collection -> collection
+                .find()
+                .projection(ACCOUNT_NUMBER_ONLY)
+                .batchSize(batchSize)
+                .noCursorTimeout(true)
+                .cursor());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .map(document -> document.getString("accountNumber"))
+                .onClose(cursor::close);
+    }
+
+    @Override
+    public Map<Integer, String> insertAll(List<AccountEntity> accounts) {
+        // bulk inserts do not initialize the version like save() does
+        accounts.stream()
+                .filter(account -> account.getVersion() == null)
+                .forEach(account -> account.setVersion(0L));
+        try {
+            mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, AccountEntity.class)
+                    .insert(accounts)
+                    .execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            return e.getErrors().stream()
+                    .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage));
+        }
+    }
+
+    private static MongoCollection<Account> accounts(MongoCollection<Document> collection) {
+        return collection.withCodecRegistry(AccountCodec.withAccountCodec(collection.getCodecRegistry()))
+                .withDocumentClass(Account.class);
+    }
+}
@@ -0,0 +1,34 @@
+package nl.rabobank.mongo.repository;
+
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.mongo.model.GrantEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface GrantRepository extends MongoRepository<GrantEntity, String>, GrantRepositoryCustom {
+
+    String INDEXED_FIELDS = "{ '_id' : 0, 'granteeName' : 1, 'authorization' : 1, 'accountNumber' : 1, 'validUntil' : 1 }";
+
+    /**
+     * Grants may outlive {@code validUntil} until the next TTL monitor pass, so queries exclude them on the index.
+     * Permanent grants are stored with {@link GrantEntity#PERMANENT}, which keeps the projection covered.
+     */
+    @Query(value = "{ 'granteeName' : ?0, 'validUntil' : { '$gt' : ?1 } }",
+            fields = INDEXED_FIELDS, sort = "{ 'authorization' : 1, 'accountNumber' : 1 }")
+    List<GrantEntity> findValidByGranteeName(String granteeName, Instant validAt);
+
+    @Query(value = "{ 'granteeName' : ?0, 'authorization' : ?1, 'validUntil' : { '$gt' : ?2 } }",
+            fields = INDEXED_FIELDS, sort = "{ 'accountNumber' : 1 }")
+    List<GrantEntity> findValidByGranteeNameAndAuthorization(String granteeName, Authorization authorization, Instant validAt);
+
+    default List<GrantEntity> findByGranteeName(String granteeName) {
+        return findValidByGranteeName(granteeName, Instant.now());
+    }
+
+    default List<GrantEntity> findByGranteeNameAndAuthorization(String granteeName, Authorization authorization) {
+        return findValidByGranteeNameAndAuthorization(granteeName, authorization, Instant.now());
+    }
+}
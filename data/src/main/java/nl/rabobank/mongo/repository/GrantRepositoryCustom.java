@@ -0,0 +1,12 @@
+package nl.rabobank.mongo.repository;
+
+import nl.rabobank.mongo.model.GrantEntity;
+
+import java.util.List;
+
+public interface GrantRepositoryCustom {
+
+    void addGrant(GrantEntity grant);
+
+    void addGrants(List<GrantEntity> grants);
+}
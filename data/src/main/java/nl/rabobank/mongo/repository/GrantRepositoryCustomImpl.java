@@ -0,0 +1,47 @@
+package nl.rabobank.mongo.repository;
+
+import lombok.RequiredArgsConstructor;
+import nl.rabobank.mongo.model.GrantEntity;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@RequiredArgsConstructor
+public class GrantRepositoryCustomImpl implements GrantRepositoryCustom {
+
+    private final MongoOperations mongoOperations;
+
+    @Override
+    public void addGrant(GrantEntity grant) {
+        mongoOperations.upsert(toQuery(grant), toUpdate(grant), GrantEntity.class);
+    }
+
+    @Override
+    public void addGrants(List<GrantEntity> grants) {
+        BulkOperations bulkOperations = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, GrantEntity.class);
+        grants.forEach(grant -> bulkOperations.upsert(toQuery(grant), toUpdate(grant)));
+        bulkOperations.execute();
+    }
+
+    /**
+     * Shared with {@link ReactiveGrantRepositoryCustomImpl}, so both stacks upsert a grant on the same key.
+     */
+    static Query toQuery(GrantEntity grant) {
+        return query(where("granteeName").is(grant.getGranteeName())
+                .and("authorization").is(grant.getAuthorization())
+                .and("accountNumber").is(grant.getAccountNumber()));
+    }
+
+    /**
+     * Shared with {@link ReactiveGrantRepositoryCustomImpl}, permanent grants are stored with {@link GrantEntity#PERMANENT}.
+     */
+    static Update toUpdate(GrantEntity grant) {
+        return Update.update("validUntil", grant.isPermanent() ? GrantEntity.PERMANENT : grant.getValidUntil());
+    }
+}
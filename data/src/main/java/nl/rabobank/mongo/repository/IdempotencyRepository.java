@@ -0,0 +1,7 @@
+package nl.rabobank.mongo.repository;
+
+import nl.rabobank.mongo.model.IdempotencyRecordEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface IdempotencyRepository extends MongoRepository<IdempotencyRecordEntity, String>, IdempotencyRepositoryCustom {
+}
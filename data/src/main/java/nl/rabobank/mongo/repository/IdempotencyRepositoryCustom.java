@@ -0,0 +1,38 @@
+package nl.rabobank.mongo.repository;
+
+import nl.rabobank.mongo.model.IdempotencyRecordEntity;
+
+import java.time.Instant;
+
+/**
+ * Writes conditional on the {@code owner} of a reservation, so a request whose reservation expired and was taken over
+ * by a retry cannot overwrite or delete the retry's record.
+ */
+public interface IdempotencyRepositoryCustom {
+
+    /**
+     * Replaces the record of {@code reservation.id} with the new reservation if it expired before {@code now}.
+     *
+     * @return {@code true} if the expired record was taken over
+     */
+    boolean takeOver(IdempotencyRecordEntity reservation, Instant now);
+
+    /**
+     * Extends the reservation of {@code key} to {@code expiresAt} if {@code owner} still holds it and it was not completed.
+     *
+     * @return {@code true} if extended
+     */
+    boolean renew(String key, String owner, Instant expiresAt);
+
+    /**
+     * Stores the response of {@code record} if {@code record.owner} still holds the reservation.
+     *
+     * @return {@code true} if stored
+     */
+    boolean complete(IdempotencyRecordEntity record);
+
+    /**
+     * Deletes the reservation of {@code key} if {@code owner} still holds it and it was not completed.
+     */
+    void release(String key, String owner);
+}
@@ -0,0 +1,58 @@
+package nl.rabobank.mongo.repository;
+
+import lombok.RequiredArgsConstructor;
+import nl.rabobank.mongo.model.IdempotencyRecordEntity;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@RequiredArgsConstructor
+public class IdempotencyRepositoryCustomImpl implements IdempotencyRepositoryCustom {
+
+    private static final String OWNER = "owner";
+    private static final String STATUS = "status";
+    private static final String EXPIRES_AT = "expiresAt";
+
+    private final MongoOperations mongoOperations;
+
+    @Override
+    public boolean takeOver(IdempotencyRecordEntity reservation, Instant now) {
+        return mongoOperations.updateFirst(
+                query(where("id").is(reservation.getId()).and(EXPIRES_AT).lte(now)),
+                Update.update(OWNER, reservation.getOwner())
+                        .set("fingerprint", reservation.getFingerprint())
+                        .set(STATUS, 0)
+                        .unset("contentType")
+                        .unset("body")
+                        .set(EXPIRES_AT, reservation.getExpiresAt()),
+                IdempotencyRecordEntity.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean renew(String key, String owner, Instant expiresAt) {
+        return mongoOperations.updateFirst(
+                query(where("id").is(key).and(OWNER).is(owner).and(STATUS).is(0)),
+                Update.update(EXPIRES_AT, expiresAt),
+                IdempotencyRecordEntity.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean complete(IdempotencyRecordEntity record) {
+        return mongoOperations.updateFirst(
+                query(where("id").is(record.getId()).and(OWNER).is(record.getOwner()).and(STATUS).is(0)),
+                Update.update(STATUS, record.getStatus())
+                        .set("contentType", record.getContentType())
+                        .set("body", record.getBody())
+                        .set(EXPIRES_AT, record.getExpiresAt()),
+                IdempotencyRecordEntity.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public void release(String key, String owner) {
+        mongoOperations.remove(query(where("id").is(key).and(OWNER).is(owner).and(STATUS).is(0)), IdempotencyRecordEntity.class);
+    }
+}
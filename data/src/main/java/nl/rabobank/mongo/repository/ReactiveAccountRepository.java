@@ -0,0 +1,25 @@
+package nl.rabobank.mongo.repository;
+
+import nl.rabobank.mongo.model.AccountEntity;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+import static nl.rabobank.mongo.repository.AccountRepository.WITHOUT_GRANTEES;
+
+public interface ReactiveAccountRepository extends ReactiveMongoRepository<AccountEntity, String>, ReactiveAccountRepositoryCustom {
+
+    @Query(value = "{ 'accountNumber' : ?0 }", fields = WITHOUT_GRANTEES)
+    Mono<AccountEntity> findAccountEntityByAccountNumber(String accountNumber);
+
+    @Query(value = "{ 'accountNumber' : ?0, 'accountHolderName' : ?1 }", fields = WITHOUT_GRANTEES)
+    Mono<AccountEntity> findAccountEntityByAccountNumberAndAccountHolderName(String accountNumber, String accountHolderName);
+
+    Mono<Boolean> existsAccountEntityByAccountNumber(String accountNumber);
+
+    @Query(value = "{ 'accountNumber' : { $in : ?0 } }", fields = WITHOUT_GRANTEES, sort = "{ '_id' : 1 }")
+    Flux<AccountEntity> findAccountEntityByAccountNumberInOrderById(Collection<String> accountNumbers);
+}
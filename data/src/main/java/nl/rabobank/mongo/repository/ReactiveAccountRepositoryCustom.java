@@ -0,0 +1,16 @@
+package nl.rabobank.mongo.repository;
+
+import nl.rabobank.mongo.model.AccountEntity;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveAccountRepositoryCustom {
+
+    /**
+     * Applies the requested sort like {@link AccountRepositoryCustom#findAccounts(Pageable)}, unsorted pages come in
+     * natural order.
+     */
+    Flux<AccountEntity> findAccounts(Pageable page);
+
+    Flux<AccountEntity> streamAll(int batchSize);
+}
@@ -0,0 +1,28 @@
+package nl.rabobank.mongo.repository;
+
+import lombok.RequiredArgsConstructor;
+import nl.rabobank.mongo.model.AccountEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+@RequiredArgsConstructor
+public class ReactiveAccountRepositoryCustomImpl implements ReactiveAccountRepositoryCustom {
+
+    private final ReactiveMongoOperations mongoOperations;
+
+    @Override
+    public Flux<AccountEntity> findAccounts(Pageable page) {
+        Query query = new Query().with(page);
+        query.fields().exclude("powerOfAttorneys");
+        return mongoOperations.find(query, AccountEntity.class);
+    }
+
+    @Override
+    public Flux<AccountEntity> streamAll(int batchSize) {
+        Query query = new Query().cursorBatchSize(batchSize).noCursorTimeout();
+        query.fields().exclude("powerOfAttorneys");
+        return mongoOperations.find(query, AccountEntity.class);
+    }
+}
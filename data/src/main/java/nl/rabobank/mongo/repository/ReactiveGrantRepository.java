@@ -0,0 +1,30 @@
+package nl.rabobank.mongo.repository;
+
+import nl.rabobank.authorizations.Authorization;
+import nl.rabobank.mongo.model.GrantEntity;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+import static nl.rabobank.mongo.repository.GrantRepository.INDEXED_FIELDS;
+
+public interface ReactiveGrantRepository extends ReactiveMongoRepository<GrantEntity, String>, ReactiveGrantRepositoryCustom {
+
+    @Query(value = "{ 'granteeName' : ?0, 'validUntil' : { '$gt' : ?1 } }",
+            fields = INDEXED_FIELDS, sort = "{ 'authorization' : 1, 'accountNumber' : 1 }")
+    Flux<GrantEntity> findValidByGranteeName(String granteeName, Instant validAt);
+
+    @Query(value = "{ 'granteeName' : ?0, 'authorization' : ?1, 'validUntil' : { '$gt' : ?2 } }",
+            fields = INDEXED_FIELDS, sort = "{ 'accountNumber' : 1 }")
+    Flux<GrantEntity> findValidByGranteeNameAndAuthorization(String granteeName, Authorization authorization, Instant validAt);
+
+    default Flux<GrantEntity> findByGranteeName(String granteeName) {
+        return Flux.defer(() -> findValidByGranteeName(granteeName, Instant.now()));
+    }
+
+    default Flux<GrantEntity> findByGranteeNameAndAuthorization(String granteeName, Authorization authorization) {
+        return Flux.defer(() -> findValidByGranteeNameAndAuthorization(granteeName, authorization, Instant.now()));
+    }
+}
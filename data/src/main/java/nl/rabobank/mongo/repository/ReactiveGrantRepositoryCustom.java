@@ -0,0 +1,9 @@
+package nl.rabobank.mongo.repository;
+
+import nl.rabobank.mongo.model.GrantEntity;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveGrantRepositoryCustom {
+
+    Mono<Void> addGrant(GrantEntity grant);
+}
@@ -0,0 +1,20 @@
+package nl.rabobank.mongo.repository;
+
+import lombok.RequiredArgsConstructor;
+import nl.rabobank.mongo.model.GrantEntity;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import reactor.core.publisher.Mono;
+
+import static nl.rabobank.mongo.repository.GrantRepositoryCustomImpl.toQuery;
+import static nl.rabobank.mongo.repository.GrantRepositoryCustomImpl.toUpdate;
+
+@RequiredArgsConstructor
+public class ReactiveGrantRepositoryCustomImpl implements ReactiveGrantRepositoryCustom {
+
+    private final ReactiveMongoOperations mongoOperations;
+
+    @Override
+    public Mono<Void> addGrant(GrantEntity grant) {
+        return mongoOperations.upsert(toQuery(grant), toUpdate(grant), GrantEntity.class).then();
+    }
+}
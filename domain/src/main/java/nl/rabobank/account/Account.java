@@ -4,5 +4,8 @@ public interface Account
 {
     String getAccountNumber();
     String getAccountHolderName();
-    Double getBalance();
+    /**
+     * Balance in minor units (euro cents).
+     */
+    long getBalance();
 }
@@ -7,5 +7,5 @@ public class SavingsAccount implements Account
 {
     String accountNumber;
     String accountHolderName;
-    Double balance;
+    long balance;
 }
@@ -4,6 +4,8 @@ import lombok.Builder;
 import lombok.Value;
 import nl.rabobank.account.Account;
 
+import java.time.Instant;
+
 @Value
 @Builder(toBuilder = true)
 public class PowerOfAttorney
@@ -12,4 +14,5 @@ public class PowerOfAttorney
     String grantorName;
     Account account;
     Authorization authorization;
+    Instant validUntil;
 }